@@ -1,19 +1,30 @@
 package com.realestate.service;
 
+import com.realestate.dto.CursorPageResponse;
+import com.realestate.dto.PageCursor;
 import com.realestate.dto.PageResponse;
+import com.realestate.dto.PropertyPageView;
 import com.realestate.dto.PropertyResponse;
 import com.realestate.dto.PropertySearchRequest;
+import com.realestate.dto.RecommendationResponse;
 import com.realestate.model.ListingType;
 import com.realestate.model.Property;
+import com.realestate.model.PropertyImage;
 import com.realestate.model.PropertyType;
 import com.realestate.model.User;
 import com.realestate.repository.FavoriteRepository;
 import com.realestate.repository.PropertyRepository;
+import com.realestate.repository.PropertySearchSeekRepository.SortKey;
 import com.realestate.repository.PropertyImageRepository;
 import com.realestate.repository.ContactAgentRepository;
 import com.realestate.repository.ScheduleViewingRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -21,8 +32,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -47,6 +68,92 @@ public class PropertyService {
     @Autowired
     private DotNetRecommendationClient dotNetRecommendationClient;
 
+    @Autowired
+    private FavoriteCache favoriteCache;
+
+    @Autowired
+    private FavoriteCountAggregator favoriteCountAggregator;
+
+    @Autowired
+    private PropertyResponseCache propertyResponseCache;
+
+    @Autowired
+    private PropertySearchIndex propertySearchIndex;
+
+    @Autowired
+    private PropertyKeywordIndex propertyKeywordIndex;
+
+    @Autowired
+    private SimilarPropertyIndex similarPropertyIndex;
+
+    @Autowired
+    private PropertyStatisticsService propertyStatisticsService;
+
+    @Autowired
+    private ParallelLookups parallelLookups;
+
+    @Autowired
+    private SecondLevelCacheEvictor secondLevelCacheEvictor;
+
+    /**
+     * Fallback recommendations: same property type within +/- this fraction of the price
+     */
+    @Value("${recommendation.fallback.price-band:0.2}")
+    private BigDecimal fallbackPriceBand;
+
+    /**
+     * IDs per bulk DELETE statement; keeps each IN list within driver and plan-cache limits
+     */
+    @Value("${property.delete.chunk-size:1000}")
+    private int deleteChunkSize;
+
+    /**
+     * Warm the in-memory search indexes and statistics once the application is up
+     * The indexes are no-ops unless search.index.enabled / search.keyword-index.enabled /
+     * recommendation.local.enabled are set
+     * Indexes start holding writes before the snapshot is read, so a create/update/delete that
+     * commits between findAll() and rebuild() is re-applied instead of lost
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmSearchIndex() {
+        propertySearchIndex.beginRebuild();
+        propertyKeywordIndex.beginRebuild();
+        similarPropertyIndex.beginRebuild();
+        propertyStatisticsService.beginRebuild();
+        List<Property> all;
+        try {
+            all = propertyRepository.findAll();
+        } catch (RuntimeException e) {
+            propertySearchIndex.abortRebuild();
+            propertyKeywordIndex.abortRebuild();
+            similarPropertyIndex.abortRebuild();
+            propertyStatisticsService.abortRebuild();
+            throw e;
+        }
+        propertySearchIndex.rebuild(all);
+        propertyKeywordIndex.rebuild(all);
+        similarPropertyIndex.rebuild(all);
+        propertyStatisticsService.rebuild(all);
+    }
+
+    /**
+     * Add rows inserted outside createProperty (bulk import) to the in-memory indexes and statistics
+     * Call once the inserting transaction has committed
+     */
+    @Transactional(readOnly = true)
+    public void indexProperties(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (Property property : propertyRepository.findAllById(ids)) {
+            propertySearchIndex.put(property);
+            propertyKeywordIndex.put(property);
+            propertyStatisticsService.put(property);
+            similarPropertyIndex.put(property);
+        }
+    }
+
     // ...existing getAllProperties, getAvailableProperties, etc...
 
     public List<Property> getAllProperties() {
@@ -58,27 +165,89 @@ public class PropertyService {
     }
 
     public PageResponse<PropertyResponse> getAvailablePropertiesPaged(int page, int size, String sortBy, String direction) {
+        return buildPageResponse(findAvailablePage(page, size, sortBy, direction), null);
+    }
+
+    /**
+     * Same page as getAvailablePropertiesPaged, serialized straight from the entities
+     */
+    public PropertyPageView getAvailablePropertiesPageView(int page, int size, String sortBy, String direction) {
+        return buildPageView(findAvailablePage(page, size, sortBy, direction), null);
+    }
+
+    private Page<Property> findAvailablePage(int page, int size, String sortBy, String direction) {
         Sort sort = direction.equalsIgnoreCase("ASC")
                 ? Sort.by(sortBy).ascending()
                 : Sort.by(sortBy).descending();
-        Pageable pageable = PageRequest.of(page, size, sort);
-        Page<Property> propertyPage = propertyRepository.findByAvailableTrue(pageable);
-
-        return buildPageResponse(propertyPage, null);
+        return propertyRepository.findByAvailableTrue(PageRequest.of(page, size, sort));
     }
 
     public Optional<Property> getPropertyById(Long id) {
         return propertyRepository.findById(id);
     }
 
+    /**
+     * Detail view. The user-independent part is served from PropertyResponseCache;
+     * favoriteCount and isFavorited are layered on per request from FavoriteCache.
+     */
     public PropertyResponse getPropertyResponseById(Long id, Long userId) {
-        Property property = propertyRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Property not found with id: " + id));
-        return toPropertyResponse(property, userId);
+        // Read the version before loading so a concurrent update can't be cached as current
+        long version = propertyResponseCache.currentVersion(id);
+        PropertyResponse shared = propertyResponseCache.get(id, version);
+
+        try (ParallelLookups.Scope scope = parallelLookups.open()) {
+            Supplier<Long> favoriteCount = scope.forkOnMiss(
+                    () -> favoriteCache.peekFavoriteCount(id),
+                    () -> favoriteCache.getFavoriteCount(id));
+            Supplier<Boolean> isFavorited = scope.forkOnMiss(
+                    () -> userId == null ? Boolean.FALSE : favoriteCache.peekFavorited(userId, id),
+                    () -> favoriteCache.isFavorited(userId, id));
+            if (shared == null) {
+                Supplier<List<String>> imageUrls = scope.fork(() -> loadImageUrls(id));
+                // The entity stays on the caller's session so its lazy owner can still load
+                Property property = propertyRepository.findById(id)
+                        .orElseThrow(() -> new RuntimeException("Property not found with id: " + id));
+                scope.join();
+                shared = buildPropertyResponse(property, imageUrls.get(), null, null);
+                propertyResponseCache.put(id, version, shared);
+            } else {
+                scope.join();
+            }
+            return withViewerState(shared, favoriteCount.get(), isFavorited.get());
+        }
+    }
+
+    /**
+     * Drop the cached detail view of a property (call after adding, removing or reordering its images)
+     * Property.images is the inverse side, so saving a PropertyImage alone never refreshes the
+     * cached collection; it is evicted here as well. updatedAt is touched so the ETags in
+     * ResponseVersions, which only see the parent row, change with the images. The touch is a
+     * single-column UPDATE: dirty-checking a loaded entity would write the whole row back.
+     */
+    public void evictPropertyResponse(Long propertyId) {
+        propertyRepository.touchUpdatedAt(propertyId, LocalDateTime.now());
+        propertyResponseCache.bumpVersion(propertyId);
+        secondLevelCacheEvictor.evictPropertyImages(propertyId);
+    }
+
+    /**
+     * Drop the cached detail views of an owner's listings (call after updating the user's profile)
+     * The shared response embeds the owner's name, contact details and picture.
+     */
+    public void evictOwnerResponses(Long ownerId) {
+        propertyResponseCache.evictOwner(ownerId);
     }
 
     public Property createProperty(Property property) {
-        return propertyRepository.save(property);
+        Property saved = propertyRepository.save(property);
+        // Indexes only see committed rows; a rolled-back create or update must not reach them
+        AfterCommit.run(() -> {
+            propertySearchIndex.put(saved);
+            propertyKeywordIndex.put(saved);
+            propertyStatisticsService.put(saved);
+            similarPropertyIndex.put(saved);
+        });
+        return saved;
     }
 
     public Property updateProperty(Long id, Property propertyDetails) {
@@ -100,8 +269,18 @@ public class PropertyService {
         property.setYearBuilt(propertyDetails.getYearBuilt());
         property.setImageUrl(propertyDetails.getImageUrl());
         property.setAvailable(propertyDetails.getAvailable());
-
-        return propertyRepository.save(property);
+        property.setLatitude(propertyDetails.getLatitude());
+        property.setLongitude(propertyDetails.getLongitude());
+
+        Property saved = propertyRepository.save(property);
+        AfterCommit.run(() -> {
+            propertySearchIndex.put(saved);
+            propertyKeywordIndex.put(saved);
+            propertyStatisticsService.put(saved);
+            similarPropertyIndex.put(saved);
+        });
+        propertyResponseCache.bumpVersion(id);
+        return saved;
     }
 
     @Transactional
@@ -111,35 +290,53 @@ public class PropertyService {
             throw new RuntimeException("Property not found with id: " + id);
         }
 
-        try {
-            // CASCADE DELETE: Delete all related records first
-
-            // 1. Delete all property images
-            propertyImageRepository.findByPropertyId(id).forEach(image -> {
-                propertyImageRepository.delete(image);
-            });
-
-            // 2. Delete all favorites for this property
-            favoriteRepository.findByPropertyId(id).forEach(favorite -> {
-                favoriteRepository.delete(favorite);
-            });
-
-            // 3. Delete all contact agent requests
-            contactAgentRepository.findByPropertyId(id).forEach(contact -> {
-                contactAgentRepository.delete(contact);
-            });
-
-            // 4. Delete all schedule viewings
-            scheduleViewingRepository.findByPropertyId(id).forEach(viewing -> {
-                scheduleViewingRepository.delete(viewing);
-            });
+        deleteProperties(List.of(id));
+    }
 
-            // 5. Finally delete the property itself
-            propertyRepository.deleteById(id);
+    /**
+     * Delete a batch of properties and all their child rows (admin cleanup)
+     * Set-based cascade: one bulk DELETE ... WHERE property_id IN (...) per child table and chunk of
+     * property.delete.chunk-size IDs, without loading any entity into the persistence context.
+     * @return number of properties actually deleted (unknown IDs are ignored)
+     */
+    @Transactional
+    public int deleteProperties(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
 
+        List<Long> idList = new ArrayList<>(ids);
+        int deleted = 0;
+        try {
+            for (int from = 0; from < idList.size(); from += deleteChunkSize) {
+                List<Long> chunk = idList.subList(from, Math.min(from + deleteChunkSize, idList.size()));
+
+                // CASCADE DELETE: Delete all related records first
+                propertyImageRepository.deleteAllByPropertyIdIn(chunk);
+                favoriteRepository.deleteAllByPropertyIdIn(chunk);
+                contactAgentRepository.deleteAllByPropertyIdIn(chunk);
+                scheduleViewingRepository.deleteAllByPropertyIdIn(chunk);
+
+                // Finally delete the properties themselves
+                deleted += propertyRepository.deleteAllByIdIn(chunk);
+            }
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete property: " + e.getMessage(), e);
         }
+
+        // The bulk JPQL deletes above already invalidate the Property / PropertyImage L2 regions
+        favoriteCache.onPropertiesCleared(ids);
+        ids.forEach(favoriteCountAggregator::discard);
+        ids.forEach(propertyResponseCache::bumpVersion);
+        AfterCommit.run(() -> {
+            propertyStatisticsService.remove(ids);
+            ids.forEach(id -> {
+                propertySearchIndex.remove(id);
+                propertyKeywordIndex.remove(id);
+                similarPropertyIndex.remove(id);
+            });
+        });
+        return deleted;
     }
 
     public List<Property> getPropertiesByCity(String city) {
@@ -160,21 +357,66 @@ public class PropertyService {
 
     // Advanced Search
     public PageResponse<PropertyResponse> searchProperties(PropertySearchRequest request, Long userId) {
+        return buildPageResponse(findSearchPage(request), userId);
+    }
+
+    /**
+     * Same results as searchProperties, serialized straight from the entities
+     */
+    public PropertyPageView searchPropertiesView(PropertySearchRequest request, Long userId) {
+        return buildPageView(findSearchPage(request), userId);
+    }
+
+    private Page<Property> findSearchPage(PropertySearchRequest request) {
         String sortBy = request.getSortBy() != null ? request.getSortBy() : "createdAt";
         String sortDirection = request.getSortDirection() != null ? request.getSortDirection() : "DESC";
         int page = request.getPage() != null ? request.getPage() : 0;
         int size = request.getSize() != null ? request.getSize() : 10;
 
-        Sort sort = sortDirection.equalsIgnoreCase("ASC")
+        GeoFilter geo = GeoFilter.from(request);
+        boolean distanceSort = PropertySearchIndex.DISTANCE_SORT.equals(sortBy);
+        if (distanceSort && (geo == null || !geo.hasCenter())) {
+            throw new IllegalArgumentException("sortBy=distance needs latitude and longitude");
+        }
+        boolean hasKeyword = request.getKeyword() != null && !request.getKeyword().isEmpty();
+        if (hasKeyword && geo != null) {
+            // Neither keyword path applies the area, so reject rather than return listings outside it
+            throw new IllegalArgumentException("Keyword search cannot be combined with geo filters");
+        }
+        if (distanceSort) {
+            // Nearest first, whatever the (DESC by default) direction says
+            sortDirection = "ASC";
+        }
+
+        // Distance is not an entity attribute; the geo queries order by it themselves
+        Sort sort = distanceSort ? Sort.unsorted()
+                : sortDirection.equalsIgnoreCase("ASC")
                 ? Sort.by(sortBy).ascending()
                 : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Property> propertyPage;
+        Page<Property> propertyPage = null;
+
+        if (hasKeyword) {
+            if (request.getSearchMode() == PropertySearchRequest.SearchMode.FULL_TEXT
+                    && propertyKeywordIndex.isReady()) {
+                // Relevance-ranked; the requested sort applies only to the LIKE path
+                PropertyKeywordIndex.KeywordPage keywordPage =
+                        propertyKeywordIndex.search(request.getKeyword(), page, size);
+                propertyPage = loadPageInOrder(keywordPage.getIds(), pageable, keywordPage.getTotalElements());
+            } else {
+                propertyPage = propertyRepository.searchByKeyword(request.getKeyword(), pageable);
+            }
+        } else if (propertySearchIndex.isReady()) {
+            // Served from the in-memory index; null means it can't answer this request
+            propertyPage = searchFromIndex(request, sortBy, sortDirection, pageable);
+        }
 
-        if (request.getKeyword() != null && !request.getKeyword().isEmpty()) {
-            propertyPage = propertyRepository.searchByKeyword(request.getKeyword(), pageable);
-        } else {
+        if (propertyPage == null && geo != null) {
+            propertyPage = searchWithinBounds(request, geo, distanceSort, pageable);
+        }
+
+        if (propertyPage == null) {
             propertyPage = propertyRepository.searchProperties(
                     request.getCity(),
                     request.getState(),
@@ -192,7 +434,67 @@ public class PropertyService {
             );
         }
 
-        return buildPageResponse(propertyPage, userId);
+        return propertyPage;
+    }
+
+    /**
+     * Resolve a search through PropertySearchIndex: filter/sort/page on the index,
+     * then load just the page's entities and restore the index order
+     * @return null if the index cannot answer this request (e.g. unindexed sort field)
+     */
+    private Page<Property> searchFromIndex(PropertySearchRequest request, String sortBy,
+                                           String sortDirection, Pageable pageable) {
+        PropertySearchIndex.IndexPage indexPage = propertySearchIndex.search(
+                request, sortBy, sortDirection.equalsIgnoreCase("ASC"),
+                pageable.getPageNumber(), pageable.getPageSize());
+        if (indexPage == null) {
+            return null;
+        }
+        return loadPageInOrder(indexPage.getIds(), pageable, indexPage.getTotalElements());
+    }
+
+    /**
+     * Geo search against the database while the index is cold: the bounding box narrows the
+     * scan through the (latitude, longitude) index, the radius is then checked per row
+     */
+    private Page<Property> searchWithinBounds(PropertySearchRequest request, GeoFilter geo,
+                                              boolean distanceSort, Pageable pageable) {
+        if (distanceSort) {
+            return propertyRepository.searchWithinBoundsByDistance(
+                    request.getCity(), request.getState(), request.getPropertyType(), request.getListingType(),
+                    request.getMinPrice(), request.getMaxPrice(),
+                    request.getMinBedrooms(), request.getMaxBedrooms(),
+                    request.getMinBathrooms(), request.getMaxBathrooms(),
+                    request.getMinSquareFeet(), request.getMaxSquareFeet(),
+                    geo.getMinLatitude(), geo.getMaxLatitude(), geo.getMinLongitude(), geo.getMaxLongitude(),
+                    geo.getCenterLatitude(), geo.getCenterLongitude(), geo.getRadiusKm(),
+                    pageable);
+        }
+        return propertyRepository.searchWithinBounds(
+                request.getCity(), request.getState(), request.getPropertyType(), request.getListingType(),
+                request.getMinPrice(), request.getMaxPrice(),
+                request.getMinBedrooms(), request.getMaxBedrooms(),
+                request.getMinBathrooms(), request.getMaxBathrooms(),
+                request.getMinSquareFeet(), request.getMaxSquareFeet(),
+                geo.getMinLatitude(), geo.getMaxLatitude(), geo.getMinLongitude(), geo.getMaxLongitude(),
+                geo.getCenterLatitude(), geo.getCenterLongitude(), geo.getRadiusKm(),
+                pageable);
+    }
+
+    /**
+     * Load a page of properties by ID in one query, keeping the order the IDs were given in
+     */
+    private Page<Property> loadPageInOrder(List<Long> ids, Pageable pageable, long totalElements) {
+        return new PageImpl<>(loadInOrder(ids), pageable, totalElements);
+    }
+
+    private List<Property> loadInOrder(List<Long> ids) {
+        Map<Long, Property> byId = new HashMap<>();
+        propertyRepository.findAllById(ids).forEach(p -> byId.put(p.getId(), p));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     public List<Property> getPropertiesByOwner(Long ownerId) {
@@ -205,27 +507,352 @@ public class PropertyService {
         return buildPageResponse(propertyPage, null);
     }
 
+    // ====================== RECOMMENDATIONS ======================
+
+    /**
+     * Hydrate what RecommendationService produced: the recommended IDs in their order, or similar
+     * listings from local data when it fell back (or its IDs are no longer available)
+     */
+    @Transactional(readOnly = true)
+    public RecommendationResponse getRecommendations(Long propertyId, Long userId, int limit,
+                                                     RecommendationService.Outcome outcome) {
+        if (!outcome.isFallback()) {
+            List<Property> recommended = loadInOrder(outcome.getPropertyIds()).stream()
+                    .filter(p -> Boolean.TRUE.equals(p.getAvailable()) && !p.getId().equals(propertyId))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+            if (!recommended.isEmpty()) {
+                return RecommendationResponse.builder()
+                        .propertyId(propertyId)
+                        .properties(toPropertyResponses(recommended, userId))
+                        .source(outcome.getSource())
+                        .build();
+            }
+            outcome = RecommendationService.Outcome.fallback(RecommendationResponse.FallbackReason.EMPTY);
+        }
+
+        Property property = propertyRepository.findById(propertyId)
+                .orElseThrow(() -> new RuntimeException("Property not found with id: " + propertyId));
+        return RecommendationResponse.builder()
+                .propertyId(propertyId)
+                .properties(toPropertyResponses(findSimilarLocally(property, limit), userId))
+                .source(RecommendationResponse.Source.FALLBACK)
+                .fallbackReason(outcome.getFallbackReason())
+                .build();
+    }
+
+    /**
+     * Same city and listing type, same property type within the price band first; widened to the
+     * whole city (closest price first) when that leaves fewer than limit
+     */
+    private List<Property> findSimilarLocally(Property property, int limit) {
+        BigDecimal price = property.getPrice();
+        BigDecimal minPrice = price != null ? price.multiply(BigDecimal.ONE.subtract(fallbackPriceBand)) : null;
+        BigDecimal maxPrice = price != null ? price.multiply(BigDecimal.ONE.add(fallbackPriceBand)) : null;
+
+        List<Property> similar = new ArrayList<>(propertyRepository.findSimilar(
+                property.getId(), property.getCity(), property.getListingType(), property.getPropertyType(),
+                minPrice, maxPrice, price, PageRequest.of(0, limit)));
+        if (similar.size() < limit) {
+            Set<Long> seen = similar.stream().map(Property::getId).collect(Collectors.toSet());
+            for (Property p : propertyRepository.findSimilar(
+                    property.getId(), property.getCity(), property.getListingType(), null,
+                    null, null, price, PageRequest.of(0, limit + similar.size()))) {
+                if (similar.size() == limit) {
+                    break;
+                }
+                if (seen.add(p.getId())) {
+                    similar.add(p);
+                }
+            }
+        }
+        return similar;
+    }
+
+    // ====================== CURSOR PAGINATION ======================
+
+    /**
+     * Available properties, newest first, using keyset pagination on (createdAt, id)
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @param includeTotal also run the COUNT(*) query for totalElements
+     */
+    public CursorPageResponse<PropertyResponse> getAvailablePropertiesCursor(String cursor, int size, boolean includeTotal) {
+        size = clampPageSize(size);
+        PageCursor position = requireSeekCursor(PageCursor.decode(cursor));
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<Property> rows = position == null
+                ? propertyRepository.findAvailableFirstPage(limit)
+                : propertyRepository.findAvailableAfter(position.getCreatedAt(), position.getId(), limit);
+
+        Long total = includeTotal ? propertyRepository.countAvailable() : null;
+        return buildSeekPage(rows, size, null, total);
+    }
+
+    /**
+     * Owner's properties, newest first, using keyset pagination on (createdAt, id)
+     */
+    public CursorPageResponse<PropertyResponse> getPropertiesByOwnerCursor(Long ownerId, String cursor, int size, boolean includeTotal) {
+        size = clampPageSize(size);
+        PageCursor position = requireSeekCursor(PageCursor.decode(cursor));
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<Property> rows = position == null
+                ? propertyRepository.findByOwnerFirstPage(ownerId, limit)
+                : propertyRepository.findByOwnerAfter(ownerId, position.getCreatedAt(), position.getId(), limit);
+
+        Long total = includeTotal ? propertyRepository.countByOwnerId(ownerId) : null;
+        return buildSeekPage(rows, size, null, total);
+    }
+
+    /**
+     * Structured search with a cursor instead of page numbers
+     * Seeks on (sortBy, id): each page is a WHERE on the last row's key with size + 1 rows, so deep pages
+     * skip no rows and a changed page size can't shift the position. No COUNT(*) unless includeTotal is set.
+     * Keyword and geo requests are rejected rather than silently searched without them.
+     */
+    public CursorPageResponse<PropertyResponse> searchPropertiesCursor(PropertySearchRequest request, String cursor,
+                                                                       boolean includeTotal, Long userId) {
+        String sortBy = request.getSortBy() != null ? request.getSortBy() : "createdAt";
+        boolean ascending = "ASC".equalsIgnoreCase(request.getSortDirection());
+        int size = clampPageSize(request.getSize() != null ? request.getSize() : 10);
+
+        if (GeoFilter.from(request) != null) {
+            throw new IllegalArgumentException("Geo filters are only supported by the paged search");
+        }
+        if (request.getKeyword() != null && !request.getKeyword().isEmpty()) {
+            throw new IllegalArgumentException("Keyword search is only supported by the paged search");
+        }
+        SortKey key = SortKey.from(sortBy);
+        if (key == null) {
+            throw new IllegalArgumentException("Cannot page a search cursor by: " + sortBy);
+        }
+        PageCursor position = PageCursor.decode(cursor);
+        Object afterValue = null;
+        if (position != null) {
+            if (!position.isSearchAfter(sortBy, ascending)) {
+                throw new IllegalArgumentException("Invalid cursor for this search: " + cursor);
+            }
+            try {
+                afterValue = key.parse(position.getSortValue());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor for this search: " + cursor);
+            }
+        }
+
+        List<Property> rows = propertyRepository.searchAfter(request, key, ascending,
+                afterValue, position != null ? position.getId() : null, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<Property> content = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Property last = content.get(content.size() - 1);
+            nextCursor = PageCursor.searchAfter(sortBy, ascending, key.format(last), last.getId()).encode();
+        }
+
+        Long total = null;
+        if (includeTotal) {
+            total = propertyRepository.searchProperties(
+                    request.getCity(),
+                    request.getState(),
+                    request.getPropertyType(),
+                    request.getListingType(),
+                    request.getMinPrice(),
+                    request.getMaxPrice(),
+                    request.getMinBedrooms(),
+                    request.getMaxBedrooms(),
+                    request.getMinBathrooms(),
+                    request.getMaxBathrooms(),
+                    request.getMinSquareFeet(),
+                    request.getMaxSquareFeet(),
+                    PageRequest.of(0, 1)
+            ).getTotalElements();
+        }
+
+        return CursorPageResponse.<PropertyResponse>builder()
+                .content(toPropertyResponses(content, userId))
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(total)
+                .build();
+    }
+
+    /**
+     * Build a cursor page from size + 1 seek rows; the extra row only signals hasNext
+     */
+    private CursorPageResponse<PropertyResponse> buildSeekPage(List<Property> rows, int size, Long userId, Long total) {
+        boolean hasNext = rows.size() > size;
+        List<Property> content = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            Property last = content.get(content.size() - 1);
+            nextCursor = PageCursor.seek(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPageResponse.<PropertyResponse>builder()
+                .content(toPropertyResponses(content, userId))
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(total)
+                .build();
+    }
+
+    private PageCursor requireSeekCursor(PageCursor position) {
+        if (position != null && !position.isSeek()) {
+            throw new IllegalArgumentException("Invalid cursor: expected a (createdAt, id) cursor");
+        }
+        return position;
+    }
+
+    private int clampPageSize(int size) {
+        if (size <= 0) return 10;
+        return Math.min(size, 100); // Max 100 items per page
+    }
+
     public List<Property> getRecentProperties(int limit) {
         return propertyRepository.findRecentProperties(PageRequest.of(0, limit));
     }
 
+    // Served from PropertyStatisticsService once it is built; the queries are the cold-start fallback
+
     public List<String> getAllCities() {
-        return propertyRepository.findAllCities();
+        return propertyStatisticsService.isReady()
+                ? propertyStatisticsService.getAllCities()
+                : propertyRepository.findAllCities();
     }
 
     public List<String> getAllStates() {
-        return propertyRepository.findAllStates();
+        return propertyStatisticsService.isReady()
+                ? propertyStatisticsService.getAllStates()
+                : propertyRepository.findAllStates();
     }
 
     public Long getAvailableCount() {
-        return propertyRepository.countAvailable();
+        return propertyStatisticsService.isReady()
+                ? propertyStatisticsService.getAvailableCount()
+                : propertyRepository.countAvailable();
     }
 
     public BigDecimal getAveragePriceByCity(String city) {
-        return propertyRepository.getAveragePriceByCity(city);
+        return propertyStatisticsService.isReady()
+                ? propertyStatisticsService.getAveragePriceByCity(city)
+                : propertyRepository.getAveragePriceByCity(city);
     }
 
+    /**
+     * The image and favorited lookups are independent; with properties.fanout.enabled the ones that
+     * need the database run concurrently on virtual threads, bounded by ParallelLookups' JDBC permits.
+     * Favorite state answered by FavoriteCache is read inline, and the count needs no query.
+     */
     public PropertyResponse toPropertyResponse(Property property, Long userId) {
+        Long propertyId = property.getId();
+        try (ParallelLookups.Scope scope = parallelLookups.open()) {
+            Supplier<List<String>> imageUrls = scope.fork(() -> loadImageUrls(propertyId));
+            Supplier<Boolean> isFavorited = scope.forkOnMiss(
+                    () -> userId == null ? Boolean.FALSE : favoriteCache.peekFavorited(userId, propertyId),
+                    () -> favoriteCache.isFavorited(userId, propertyId));
+            scope.join();
+
+            return buildPropertyResponse(property, imageUrls.get(), favoriteCountOf(property), isFavorited.get());
+        }
+    }
+
+    private List<String> loadImageUrls(Long propertyId) {
+        try {
+            return propertyImageRepository.findByPropertyIdOrderByDisplayOrderAsc(propertyId).stream()
+                    .map(img -> img.getImageUrl())
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Copy of a shared (cached) response with the per-request fields filled in
+     * The shared instance itself is never modified.
+     */
+    private PropertyResponse withViewerState(PropertyResponse shared, Long favoriteCount, Boolean isFavorited) {
+        return PropertyResponse.builder()
+                .id(shared.getId())
+                .title(shared.getTitle())
+                .description(shared.getDescription())
+                .price(shared.getPrice())
+                .address(shared.getAddress())
+                .city(shared.getCity())
+                .state(shared.getState())
+                .zipCode(shared.getZipCode())
+                .propertyType(shared.getPropertyType())
+                .listingType(shared.getListingType())
+                .bedrooms(shared.getBedrooms())
+                .bathrooms(shared.getBathrooms())
+                .squareFeet(shared.getSquareFeet())
+                .yearBuilt(shared.getYearBuilt())
+                .latitude(shared.getLatitude())
+                .longitude(shared.getLongitude())
+                .available(shared.getAvailable())
+                .createdAt(shared.getCreatedAt())
+                .updatedAt(shared.getUpdatedAt())
+                .owner(shared.getOwner())
+                .imageUrls(shared.getImageUrls())
+                .favoriteCount(favoriteCount)
+                .isFavorited(isFavorited)
+                .build();
+    }
+
+    /**
+     * Batch variant of toPropertyResponse for list/page results.
+     * Images and the caller's favorited flags are loaded for the whole list with one
+     * grouped IN (...) query each, instead of per row. Favorite counts need no query (see favoriteCountOf).
+     */
+    public List<PropertyResponse> toPropertyResponses(List<Property> properties, Long userId) {
+        if (properties.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> propertyIds = properties.stream()
+                .map(Property::getId)
+                .collect(Collectors.toList());
+
+        // 1. Image URLs grouped by property, already in display order
+        Map<Long, List<String>> imageUrlsByProperty = new HashMap<>();
+        propertyImageRepository.findByPropertyIdInOrderByDisplayOrderAsc(propertyIds).forEach(img ->
+                imageUrlsByProperty.computeIfAbsent(img.getProperty().getId(), id -> new ArrayList<>())
+                        .add(img.getImageUrl()));
+
+        // 2. Which of these properties the caller has favorited
+        Set<Long> favoritedIds = userId != null
+                ? favoriteRepository.findFavoritedPropertyIds(userId, propertyIds)
+                : Collections.emptySet();
+
+        return properties.stream()
+                .map(p -> buildPropertyResponse(
+                        p,
+                        imageUrlsByProperty.getOrDefault(p.getId(), new ArrayList<>()),
+                        favoriteCountOf(p),
+                        favoritedIds.contains(p.getId())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The count FavoriteCache serves: its cached value, else what a miss would load (the column plus
+     * the delta not yet flushed), read from the loaded entity. Every path here uses it, so the detail
+     * view and a page never disagree.
+     */
+    private long favoriteCountOf(Property property) {
+        Long cached = favoriteCache.peekFavoriteCount(property.getId());
+        if (cached != null) {
+            return cached;
+        }
+        long stored = property.getFavoriteCount() != null ? property.getFavoriteCount() : 0L;
+        return Math.max(0, stored + favoriteCountAggregator.pendingDelta(property.getId()));
+    }
+
+    private PropertyResponse buildPropertyResponse(Property property, List<String> imageUrls,
+                                                   Long favoriteCount, Boolean isFavorited) {
         PropertyResponse.OwnerSummary ownerSummary = null;
         if (property.getOwner() != null) {
             User owner = property.getOwner();
@@ -239,18 +866,6 @@ public class PropertyService {
                     .build();
         }
 
-        List<String> imageUrls = null;
-        try {
-            imageUrls = propertyImageRepository.findByPropertyIdOrderByDisplayOrderAsc(property.getId()).stream()
-                    .map(img -> img.getImageUrl())
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            imageUrls = new java.util.ArrayList<>();
-        }
-
-        Long favoriteCount = favoriteRepository.countByPropertyId(property.getId());
-        Boolean isFavorited = userId != null && favoriteRepository.existsByUserIdAndPropertyId(userId, property.getId());
-
         return PropertyResponse.builder()
                 .id(property.getId())
                 .title(property.getTitle())
@@ -266,6 +881,8 @@ public class PropertyService {
                 .bathrooms(property.getBathrooms())
                 .squareFeet(property.getSquareFeet())
                 .yearBuilt(property.getYearBuilt())
+                .latitude(property.getLatitude())
+                .longitude(property.getLongitude())
                 .available(property.getAvailable())
                 .createdAt(property.getCreatedAt())
                 .updatedAt(property.getUpdatedAt())
@@ -276,10 +893,59 @@ public class PropertyService {
                 .build();
     }
 
+    /**
+     * Page for PropertyPageViewSerializer: the same two grouped queries as toPropertyResponses,
+     * but results land in arrays (image URLs in one flat array, bucketed by row) so no
+     * PropertyResponse, OwnerSummary, builder or per-row list is allocated
+     */
+    private PropertyPageView buildPageView(Page<Property> page, Long userId) {
+        List<Property> properties = page.getContent();
+        int rows = properties.size();
+        Map<Long, Integer> rowById = new HashMap<>(rows * 2);
+        List<Long> propertyIds = new ArrayList<>(rows);
+        for (int row = 0; row < rows; row++) {
+            Property property = properties.get(row);
+            rowById.put(property.getId(), row);
+            propertyIds.add(property.getId());
+            // Written after the transaction has ended, so the owner must be loaded now
+            Hibernate.initialize(property.getOwner());
+        }
+
+        // Count images per row, turn counts into offsets, then place each URL; display order is kept
+        List<PropertyImage> images = rows > 0
+                ? propertyImageRepository.findByPropertyIdInOrderByDisplayOrderAsc(propertyIds)
+                : Collections.emptyList();
+        int[] imageOffsets = new int[rows + 1];
+        for (PropertyImage image : images) {
+            imageOffsets[rowById.get(image.getProperty().getId()) + 1]++;
+        }
+        for (int row = 0; row < rows; row++) {
+            imageOffsets[row + 1] += imageOffsets[row];
+        }
+        String[] imageUrls = new String[images.size()];
+        int[] nextSlot = Arrays.copyOf(imageOffsets, rows);
+        for (PropertyImage image : images) {
+            imageUrls[nextSlot[rowById.get(image.getProperty().getId())]++] = image.getImageUrl();
+        }
+
+        Set<Long> favoritedIds = userId != null && rows > 0
+                ? favoriteRepository.findFavoritedPropertyIds(userId, propertyIds)
+                : Collections.emptySet();
+        long[] favoriteCounts = new long[rows];
+        boolean[] favorited = new boolean[rows];
+        for (int row = 0; row < rows; row++) {
+            Property property = properties.get(row);
+            favoriteCounts[row] = favoriteCountOf(property);
+            favorited[row] = favoritedIds.contains(property.getId());
+        }
+
+        return new PropertyPageView(properties, imageUrls, imageOffsets, favoriteCounts, favorited,
+                page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages(),
+                page.isFirst(), page.isLast(), page.hasNext(), page.hasPrevious());
+    }
+
     private PageResponse<PropertyResponse> buildPageResponse(Page<Property> page, Long userId) {
-        List<PropertyResponse> content = page.getContent().stream()
-                .map(p -> toPropertyResponse(p, userId))
-                .collect(Collectors.toList());
+        List<PropertyResponse> content = toPropertyResponses(page.getContent(), userId);
 
         return PageResponse.<PropertyResponse>builder()
                 .content(content)
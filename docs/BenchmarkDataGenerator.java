@@ -0,0 +1,125 @@
+package com.realestate.benchmark;
+
+import com.realestate.model.Favorite;
+import com.realestate.model.ListingType;
+import com.realestate.model.Property;
+import com.realestate.model.PropertyImage;
+import com.realestate.model.PropertyType;
+import com.realestate.model.User;
+import com.realestate.model.UserType;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Populates the in-memory H2 database used by the benchmarks
+ * Deterministic (fixed seed) so runs on different commits see the same data.
+ */
+public class BenchmarkDataGenerator {
+
+    private static final String[] CITIES = {"Pune", "Mumbai", "Bengaluru", "Hyderabad", "Chennai", "Delhi", "Kolkata", "Ahmedabad"};
+    private static final String[] STATES = {"Maharashtra", "Maharashtra", "Karnataka", "Telangana", "Tamil Nadu", "Delhi", "West Bengal", "Gujarat"};
+    private static final String[] WORDS = {"spacious", "sunny", "renovated", "modern", "garden", "lake", "view", "corner",
+            "furnished", "quiet", "family", "metro", "park", "terrace", "luxury", "compact"};
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Random random = new Random(42);
+
+    public BenchmarkDataGenerator(EntityManager entityManager, TransactionTemplate transactionTemplate) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * @return IDs of the generated users; user 0 owns every favorite set
+     */
+    public List<Long> generate(int listings, int imagesPerListing, int users, int favoritesPerUser) {
+        return transactionTemplate.execute(status -> {
+            List<User> owners = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                User user = new User();
+                user.setFirstName("Bench" + i);
+                user.setLastName("User");
+                user.setEmail("bench" + i + "@example.com");
+                user.setPassword("password");
+                user.setPhone("98765" + String.format("%05d", i));
+                user.setUserType(UserType.BUYER);
+                entityManager.persist(user);
+                owners.add(user);
+            }
+
+            List<Property> properties = new ArrayList<>(listings);
+            for (int i = 0; i < listings; i++) {
+                int city = random.nextInt(CITIES.length);
+                Property property = new Property();
+                property.setTitle(words(3) + " home " + i);
+                property.setDescription(words(40));
+                property.setPrice(BigDecimal.valueOf(1_000_000L + random.nextInt(50_000_000)));
+                property.setAddress((i + 1) + " " + words(2) + " road");
+                property.setCity(CITIES[city]);
+                property.setState(STATES[city]);
+                property.setZipCode(String.valueOf(400000 + random.nextInt(99999)));
+                property.setPropertyType(PropertyType.values()[random.nextInt(PropertyType.values().length)]);
+                property.setListingType(ListingType.values()[random.nextInt(ListingType.values().length)]);
+                property.setBedrooms(1 + random.nextInt(5));
+                property.setBathrooms(1 + random.nextInt(4));
+                property.setSquareFeet(400 + random.nextInt(3600));
+                property.setYearBuilt(1980 + random.nextInt(45));
+                property.setAvailable(random.nextInt(10) > 0);
+                property.setOwner(owners.get(i % owners.size()));
+                entityManager.persist(property);
+                properties.add(property);
+
+                for (int img = 0; img < imagesPerListing; img++) {
+                    PropertyImage image = new PropertyImage();
+                    image.setProperty(property);
+                    image.setImageUrl("https://img.example.com/" + i + "/" + img + ".jpg");
+                    image.setDisplayOrder(img);
+                    image.setIsPrimary(img == 0);
+                    entityManager.persist(image);
+                }
+                flushPeriodically(i);
+            }
+
+            for (int u = 0; u < owners.size(); u++) {
+                for (int f = 0; f < Math.min(favoritesPerUser, properties.size()); f++) {
+                    Favorite favorite = new Favorite();
+                    favorite.setUser(owners.get(u));
+                    favorite.setProperty(properties.get((u * 7919 + f) % properties.size()));
+                    favorite.setNotes("");
+                    entityManager.persist(favorite);
+                    flushPeriodically(f);
+                }
+            }
+
+            List<Long> ids = new ArrayList<>();
+            owners.forEach(o -> ids.add(o.getId()));
+            return ids;
+        });
+    }
+
+    private void flushPeriodically(int i) {
+        if (i % FLUSH_EVERY == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private String words(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.realestate.config;
+
+import com.realestate.dto.RecommendationResponse;
+import com.realestate.service.FavoriteCache;
+import com.realestate.service.ParallelLookups;
+import com.realestate.service.PropertyResponseCache;
+import com.realestate.service.RecommendationService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hit/miss meters for the application's own caches (the Hibernate L2 regions are in SecondLevelCacheConfig)
+ * app.cache.requests{cache, result=hit|miss} plus app.cache.hit.ratio{cache}
+ * Also the recommendation call guards: fallbacks by reason, circuit state and free bulkhead permits,
+ * and how many requests the local similar-listings index answered
+ */
+@Configuration
+public class CacheMetricsConfig {
+
+    @Bean
+    public MeterBinder applicationCacheMetrics(FavoriteCache favoriteCache,
+                                               PropertyResponseCache propertyResponseCache,
+                                               ParallelLookups parallelLookups,
+                                               RecommendationService recommendationService) {
+        return registry -> {
+            bind(registry, "favorite-status", favoriteCache,
+                    FavoriteCache::getStatusHits, FavoriteCache::getStatusMisses);
+            bind(registry, "favorite-count", favoriteCache,
+                    FavoriteCache::getCountHits, FavoriteCache::getCountMisses);
+            bind(registry, "property-response", propertyResponseCache,
+                    c -> c.getHeapHits() + c.getOffHeapHits(), PropertyResponseCache::getMisses);
+
+            FunctionCounter.builder("app.fanout.tasks", parallelLookups, ParallelLookups::getForkedCount)
+                    .tag("mode", "forked")
+                    .register(registry);
+            FunctionCounter.builder("app.fanout.tasks", parallelLookups, ParallelLookups::getInlinedCount)
+                    .tag("mode", "inlined")
+                    .register(registry);
+            Gauge.builder("app.fanout.permits.available", parallelLookups, ParallelLookups::getAvailablePermits)
+                    .register(registry);
+
+            bind(registry, "recommendation", recommendationService,
+                    RecommendationService::getCacheHits, RecommendationService::getCacheMisses);
+            for (RecommendationResponse.FallbackReason reason : RecommendationResponse.FallbackReason.values()) {
+                FunctionCounter.builder("app.recommendation.fallbacks", recommendationService,
+                                s -> s.getFallbackCount(reason))
+                        .tag("reason", reason.name())
+                        .register(registry);
+            }
+            FunctionCounter.builder("app.recommendation.local", recommendationService,
+                            RecommendationService::getLocalHits)
+                    .register(registry);
+            Gauge.builder("app.recommendation.circuit.open", recommendationService, s -> s.isCircuitOpen() ? 1 : 0)
+                    .register(registry);
+            Gauge.builder("app.recommendation.permits.available", recommendationService,
+                            RecommendationService::getAvailablePermits)
+                    .register(registry);
+        };
+    }
+
+    private static <T> void bind(MeterRegistry registry, String cache, T source,
+                                 ToDoubleFunction<T> hits, ToDoubleFunction<T> misses) {
+        FunctionCounter.builder("app.cache.requests", source, hits)
+                .tag("cache", cache)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("app.cache.requests", source, misses)
+                .tag("cache", cache)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("app.cache.hit.ratio", source, s -> {
+                    double h = hits.applyAsDouble(s);
+                    double total = h + misses.applyAsDouble(s);
+                    return total == 0 ? Double.NaN : h / total;
+                })
+                .tag("cache", cache)
+                .register(registry);
+    }
+}
@@ -0,0 +1,125 @@
+package com.realestate.benchmark;
+
+import com.realestate.RealEstateApplication;
+import com.realestate.model.ContactAgent;
+import com.realestate.model.Favorite;
+import com.realestate.model.Property;
+import com.realestate.model.PropertyImage;
+import com.realestate.model.ScheduleViewing;
+import com.realestate.service.PropertyService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lock hold time of a batch property delete: the old per-entity cascade against deleteProperties
+ * Row locks taken by the first DELETE are held until commit, so the duration of the delete transaction
+ * is the lock hold time. Each single shot deletes a fresh slice of `batch` listings (5 images and
+ * about 5 favorites each) from a dataset generated once per trial.
+ * - perEntityDelete: load every image, favorite, contact request and viewing and remove them one by one
+ * - bulkDelete: PropertyService.deleteProperties, chunked bulk DELETE ... WHERE property_id IN (...)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = DeleteLockHoldBenchmark.WARMUP)
+@Measurement(iterations = DeleteLockHoldBenchmark.MEASUREMENT)
+@Fork(1)
+public class DeleteLockHoldBenchmark {
+
+    static final int WARMUP = 3;
+    static final int MEASUREMENT = 10;
+
+    private static final int IMAGES_PER_LISTING = 5;
+    private static final int USERS = 10;
+
+    @Param({"100", "1000"})
+    public int batch;
+
+    private ConfigurableApplicationContext context;
+    private PropertyService propertyService;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    private List<Long> propertyIds;
+    private int nextSlice;
+    private List<Long> slice;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(RealEstateApplication.class,
+                "--spring.profiles.active=benchmark",
+                "--spring.datasource.url=jdbc:h2:mem:delete;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.main.web-application-type=none",
+                "--logging.level.root=WARN");
+
+        propertyService = context.getBean(PropertyService.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        // One slice per single shot; favorites spread so each listing has about USERS / 2 of them
+        int listings = (WARMUP + MEASUREMENT) * batch;
+        new BenchmarkDataGenerator(entityManager, transactionTemplate)
+                .generate(listings, IMAGES_PER_LISTING, USERS, listings / 2);
+        propertyIds = transactionTemplate.execute(status -> entityManager
+                .createQuery("SELECT p.id FROM Property p ORDER BY p.id", Long.class)
+                .getResultList());
+        nextSlice = 0;
+    }
+
+    @Setup(Level.Iteration)
+    public void nextSlice() {
+        int from = nextSlice++ * batch;
+        slice = propertyIds.subList(from, from + batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void perEntityDelete() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Long id : slice) {
+                removeAll(PropertyImage.class, id);
+                removeAll(Favorite.class, id);
+                removeAll(ContactAgent.class, id);
+                removeAll(ScheduleViewing.class, id);
+                entityManager.remove(entityManager.find(Property.class, id));
+            }
+        });
+    }
+
+    @Benchmark
+    public int bulkDelete() {
+        return propertyService.deleteProperties(slice);
+    }
+
+    private void removeAll(Class<?> type, Long propertyId) {
+        entityManager.createQuery("SELECT c FROM " + type.getSimpleName() + " c WHERE c.property.id = :id", type)
+                .setParameter("id", propertyId)
+                .getResultList()
+                .forEach(entityManager::remove);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DeleteLockHoldBenchmark.class.getSimpleName() + (args.length > 0 ? "." + args[0] : ""))
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-delete-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
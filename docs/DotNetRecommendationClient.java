@@ -0,0 +1,79 @@
+package com.realestate.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking HTTP client for the .NET recommendation service
+ * GET {recommendation.base-url}/api/recommendations?propertyId=5&userId=1&limit=10
+ * answers a JSON array of property IDs, best first. The caller's remaining budget is sent as
+ * X-Request-Timeout-Ms so the service can give up (or pass it on) instead of working past it.
+ * Only the transport lives here; timeouts, bulkhead, circuit breaker and caching are in RecommendationService.
+ */
+@Component
+public class DotNetRecommendationClient {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    private static final TypeReference<List<Long>> PROPERTY_IDS = new TypeReference<>() {};
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+
+    public DotNetRecommendationClient(@Value("${recommendation.base-url:http://localhost:5000}") String baseUrl,
+                                      @Value("${recommendation.connect-timeout-ms:200}") long connectTimeoutMs) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        // HTTP/1.1: over plain http the default HTTP/2 setting costs an upgrade attempt per connection
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+    }
+
+    /**
+     * Recommended property IDs; completes exceptionally on a non-200 answer or once timeout has passed
+     */
+    public CompletableFuture<List<Long>> recommend(Long propertyId, Long userId, int limit, Duration timeout) {
+        StringBuilder uri = new StringBuilder(baseUrl)
+                .append("/api/recommendations?propertyId=").append(propertyId)
+                .append("&limit=").append(limit);
+        if (userId != null) {
+            uri.append("&userId=").append(userId);
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri.toString()))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .header(TIMEOUT_HEADER, String.valueOf(timeout.toMillis()))
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::parse);
+    }
+
+    private List<Long> parse(HttpResponse<byte[]> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Recommendation service answered " + response.statusCode());
+        }
+        try {
+            return objectMapper.readValue(response.body(), PROPERTY_IDS);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable recommendation response", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.realestate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body for the /api/favorites/batch/* endpoints
+ * One user, many properties
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FavoriteBatchRequest {
+
+    private Long userId;
+
+    private List<Long> propertyIds;
+}
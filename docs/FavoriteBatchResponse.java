@@ -0,0 +1,46 @@
+package com.realestate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a batch favorite operation, reported per property ID
+ * A failure on one ID (e.g. property not found) does not fail the others
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FavoriteBatchResponse {
+
+    public enum Status {
+        ADDED,
+        REMOVED,
+        ALREADY_FAVORITED,
+        NOT_FAVORITED,
+        FAVORITED,
+        PROPERTY_NOT_FOUND
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long propertyId;
+        private Status status;
+        private Boolean isFavorited;
+    }
+
+    private Long userId;
+
+    private List<Item> results;
+
+    private int succeeded;
+
+    private int failed;
+}
@@ -0,0 +1,318 @@
+package com.realestate.service;
+
+import com.realestate.repository.FavoriteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded in-process near-cache for favorite status and favorite counts
+ * - per user: the set of favorited property IDs, as a sorted primitive long[] (copy-on-write)
+ * - per property: the favorite count, as an AtomicLong
+ * Both maps are LRU-evicted at a fixed size and split into lock stripes.
+ * Writes from FavoriteService are applied after the surrounding transaction commits.
+ * A miss loads outside the stripe lock under a per-key load token; any write to that key
+ * while the load runs revokes the token, and the loaded value is then returned but not cached,
+ * since it may predate the write.
+ */
+@Component
+public class FavoriteCache {
+
+    private static final int STRIPES = 16;
+    private static final long[] EMPTY = new long[0];
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private FavoriteCountAggregator favoriteCountAggregator;
+
+    private final LruMap<Long, long[]>[] userSets;
+    private final LruMap<Long, AtomicLong>[] propertyCounts;
+
+    // In-flight miss loads per stripe (key -> token), guarded by the matching LruMap's lock
+    private final Map<Long, Object>[] userLoads;
+    private final Map<Long, Object>[] countLoads;
+
+    private final LongAdder statusHits = new LongAdder();
+    private final LongAdder statusMisses = new LongAdder();
+    private final LongAdder countHits = new LongAdder();
+    private final LongAdder countMisses = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public FavoriteCache(@Value("${favorites.cache.max-users:10000}") int maxUsers,
+                         @Value("${favorites.cache.max-properties:50000}") int maxProperties) {
+        userSets = new LruMap[STRIPES];
+        propertyCounts = new LruMap[STRIPES];
+        userLoads = new Map[STRIPES];
+        countLoads = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            userSets[i] = new LruMap<>(Math.max(1, maxUsers / STRIPES));
+            propertyCounts[i] = new LruMap<>(Math.max(1, maxProperties / STRIPES));
+            userLoads[i] = new HashMap<>();
+            countLoads[i] = new HashMap<>();
+        }
+    }
+
+    // ====================== READS ======================
+
+    public boolean isFavorited(Long userId, Long propertyId) {
+        return Arrays.binarySearch(userSet(userId), propertyId) >= 0;
+    }
+
+    /**
+     * Sorted IDs of every property the user has favorited (loaded in one query on a miss)
+     * @return a copy; the cached array is shared and must not be modified
+     */
+    public long[] favoritedIds(Long userId) {
+        return userSet(userId).clone();
+    }
+
+    public long getFavoriteCount(Long propertyId) {
+        int i = stripe(propertyId);
+        LruMap<Long, AtomicLong> stripe = propertyCounts[i];
+        Object token = new Object();
+        synchronized (stripe) {
+            AtomicLong cached = stripe.get(propertyId);
+            if (cached != null) {
+                countHits.increment();
+                return cached.get();
+            }
+            countLoads[i].put(propertyId, token);
+        }
+        countMisses.increment();
+        long loaded = favoriteCountAggregator.currentCount(propertyId);
+        synchronized (stripe) {
+            AtomicLong cached = stripe.get(propertyId);
+            if (cached != null) {
+                return cached.get();
+            }
+            if (countLoads[i].remove(propertyId, token)) {
+                stripe.put(propertyId, new AtomicLong(loaded));
+            }
+            return loaded;
+        }
+    }
+
+    /**
+     * isFavorited if the user's set is cached, else null; never loads
+     */
+    public Boolean peekFavorited(Long userId, Long propertyId) {
+        LruMap<Long, long[]> stripe = userSets[stripe(userId)];
+        synchronized (stripe) {
+            long[] cached = stripe.get(userId);
+            if (cached == null) {
+                return null;
+            }
+            statusHits.increment();
+            return Arrays.binarySearch(cached, propertyId) >= 0;
+        }
+    }
+
+    /**
+     * getFavoriteCount if the count is cached, else null; never loads
+     */
+    public Long peekFavoriteCount(Long propertyId) {
+        LruMap<Long, AtomicLong> stripe = propertyCounts[stripe(propertyId)];
+        synchronized (stripe) {
+            AtomicLong cached = stripe.get(propertyId);
+            if (cached == null) {
+                return null;
+            }
+            countHits.increment();
+            return cached.get();
+        }
+    }
+
+    // ====================== WRITE-THROUGH ======================
+
+    public void onAdded(Long userId, Long propertyId) {
+        AfterCommit.run(() -> {
+            updateUserSet(userId, propertyId, true);
+            adjustCount(propertyId, 1);
+        });
+    }
+
+    public void onRemoved(Long userId, Long propertyId) {
+        AfterCommit.run(() -> {
+            updateUserSet(userId, propertyId, false);
+            adjustCount(propertyId, -1);
+        });
+    }
+
+    /**
+     * A user's favorites were bulk-deleted: drop their set and the counts of the affected properties
+     */
+    public void onUserCleared(Long userId, Collection<Long> propertyIds) {
+        AfterCommit.run(() -> {
+            int i = stripe(userId);
+            LruMap<Long, long[]> stripe = userSets[i];
+            synchronized (stripe) {
+                userLoads[i].remove(userId);
+                stripe.remove(userId);
+            }
+            propertyIds.forEach(this::evictCount);
+        });
+    }
+
+    /**
+     * Properties' favorites were bulk-deleted: drop their counts and remove them from every cached user set
+     */
+    public void onPropertiesCleared(Collection<Long> propertyIds) {
+        AfterCommit.run(() -> {
+            propertyIds.forEach(this::evictCount);
+            for (int i = 0; i < STRIPES; i++) {
+                LruMap<Long, long[]> stripe = userSets[i];
+                synchronized (stripe) {
+                    // Any user's in-flight load may have read these favorites before the delete
+                    userLoads[i].clear();
+                    stripe.replaceAll((userId, ids) -> {
+                        long[] remaining = ids;
+                        for (Long propertyId : propertyIds) {
+                            remaining = without(remaining, propertyId);
+                        }
+                        return remaining;
+                    });
+                }
+            }
+        });
+    }
+
+    // ====================== METRICS ======================
+
+    public long getStatusHits() {
+        return statusHits.sum();
+    }
+
+    public long getStatusMisses() {
+        return statusMisses.sum();
+    }
+
+    public long getCountHits() {
+        return countHits.sum();
+    }
+
+    public long getCountMisses() {
+        return countMisses.sum();
+    }
+
+    // ====================== INTERNALS ======================
+
+    private long[] userSet(Long userId) {
+        int i = stripe(userId);
+        LruMap<Long, long[]> stripe = userSets[i];
+        Object token = new Object();
+        synchronized (stripe) {
+            long[] cached = stripe.get(userId);
+            if (cached != null) {
+                statusHits.increment();
+                return cached;
+            }
+            userLoads[i].put(userId, token);
+        }
+        statusMisses.increment();
+        long[] loaded = favoriteRepository.findPropertyIdsByUserId(userId).stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+        synchronized (stripe) {
+            long[] cached = stripe.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+            if (userLoads[i].remove(userId, token)) {
+                stripe.put(userId, loaded);
+            }
+            return loaded;
+        }
+    }
+
+    private void updateUserSet(Long userId, Long propertyId, boolean favorited) {
+        int i = stripe(userId);
+        LruMap<Long, long[]> stripe = userSets[i];
+        synchronized (stripe) {
+            userLoads[i].remove(userId);
+            long[] ids = stripe.get(userId);
+            if (ids != null) {
+                stripe.put(userId, favorited ? with(ids, propertyId) : without(ids, propertyId));
+            }
+        }
+    }
+
+    private void adjustCount(Long propertyId, long delta) {
+        int i = stripe(propertyId);
+        LruMap<Long, AtomicLong> stripe = propertyCounts[i];
+        synchronized (stripe) {
+            countLoads[i].remove(propertyId);
+            AtomicLong count = stripe.get(propertyId);
+            if (count != null) {
+                count.updateAndGet(c -> Math.max(0, c + delta));
+            }
+        }
+    }
+
+    private void evictCount(Long propertyId) {
+        int i = stripe(propertyId);
+        LruMap<Long, AtomicLong> stripe = propertyCounts[i];
+        synchronized (stripe) {
+            countLoads[i].remove(propertyId);
+            stripe.remove(propertyId);
+        }
+    }
+
+    private static long[] with(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos >= 0) {
+            return ids;
+        }
+        int insert = -pos - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, insert);
+        copy[insert] = id;
+        System.arraycopy(ids, insert, copy, insert + 1, ids.length - insert);
+        return copy;
+    }
+
+    private static long[] without(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return EMPTY;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, pos);
+        System.arraycopy(ids, pos + 1, copy, pos, ids.length - pos - 1);
+        return copy;
+    }
+
+    private static int stripe(Long key) {
+        return (Long.hashCode(key) & 0x7fffffff) % STRIPES;
+    }
+
+    /**
+     * Access-ordered LinkedHashMap that drops its eldest entry past maxSize
+     */
+    private static class LruMap<K, V> extends LinkedHashMap<K, V> {
+        private final int maxSize;
+
+        LruMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
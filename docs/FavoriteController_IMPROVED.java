@@ -1,18 +1,27 @@
 package com.realestate.controller;
 
 import com.realestate.dto.ApiResponse;
+import com.realestate.dto.CursorPageResponse;
+import com.realestate.dto.FavoriteBatchRequest;
+import com.realestate.dto.FavoriteBatchResponse;
+import com.realestate.dto.FavoriteMutationResult;
 import com.realestate.dto.FavoriteResponse;
 import com.realestate.dto.PageResponse;
 import com.realestate.model.Favorite;
 import com.realestate.model.Property;
+import com.realestate.service.FavoriteMutationEngine;
 import com.realestate.service.FavoriteService;
+import com.realestate.service.ResponseVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * REST Controller for managing user favorite properties
@@ -24,22 +33,39 @@ import java.util.Map;
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
 public class FavoriteController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     @Autowired
     private FavoriteService favoriteService;
 
+    @Autowired
+    private FavoriteMutationEngine favoriteMutationEngine;
+
+    @Autowired
+    private ResponseVersions responseVersions;
+
     /**
      * Get all favorites for a user (simple list)
      * GET /api/favorites/user/{userId}
+     * Answers If-None-Match with 304 before the list is loaded
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<ApiResponse<List<FavoriteResponse>>> getUserFavorites(@PathVariable Long userId) {
+    public ResponseEntity<ApiResponse<List<FavoriteResponse>>> getUserFavorites(@PathVariable Long userId,
+                                                                               WebRequest webRequest) {
+        String etag = responseVersions.userFavoritesETag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         List<FavoriteResponse> favorites = favoriteService.getUserFavoritesResponse(userId);
-        return ResponseEntity.ok(ApiResponse.success(favorites, "Favorites retrieved successfully"));
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ApiResponse.success(favorites, "Favorites retrieved successfully"));
     }
 
     /**
      * Get favorites for a user with pagination
      * GET /api/favorites/user/{userId}/paged?page=0&size=10&sortBy=createdAt&direction=DESC
+     * Answers If-None-Match with 304 before the page is loaded
      */
     @GetMapping("/user/{userId}/paged")
     public ResponseEntity<ApiResponse<PageResponse<FavoriteResponse>>> getUserFavoritesPaged(
@@ -47,10 +73,36 @@ public class FavoriteController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "DESC") String direction) {
+            @RequestParam(defaultValue = "DESC") String direction,
+            WebRequest webRequest) {
         try {
+            String etag = responseVersions.userFavoritesETag(userId);
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
             PageResponse<FavoriteResponse> favoritesPage = favoriteService.getUserFavoritesPaged(userId, page, size, sortBy, direction);
-            return ResponseEntity.ok(ApiResponse.success(favoritesPage, "Paginated favorites retrieved"));
+            return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(ApiResponse.success(favoritesPage, "Paginated favorites retrieved"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Get favorites for a user with cursor (keyset) pagination
+     * GET /api/favorites/user/{userId}/cursor?cursor=&size=10&includeTotal=false
+     */
+    @GetMapping("/user/{userId}/cursor")
+    public ResponseEntity<ApiResponse<CursorPageResponse<FavoriteResponse>>> getUserFavoritesCursor(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            CursorPageResponse<FavoriteResponse> favoritesPage =
+                    favoriteService.getUserFavoritesCursor(userId, cursor, size, includeTotal);
+            return ResponseEntity.ok(ApiResponse.success(favoritesPage, "Favorites page retrieved"));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
@@ -72,12 +124,15 @@ public class FavoriteController {
      * POST /api/favorites?userId=1&propertyId=5&notes=Nice+property
      * OR
      * POST /api/favorites with form data
+     * Optional Idempotency-Key header: a retry with the same key returns the original result
+     * (409 if the original is still running)
      */
     @PostMapping
     public ResponseEntity<ApiResponse<FavoriteResponse>> addFavorite(
             @RequestParam Long userId,
             @RequestParam Long propertyId,
-            @RequestParam(required = false, defaultValue = "") String notes) {
+            @RequestParam(required = false, defaultValue = "") String notes,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         try {
             // Validate inputs
             if (userId == null || userId <= 0) {
@@ -89,12 +144,13 @@ public class FavoriteController {
                         .body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), "Invalid propertyId"));
             }
 
-            Favorite favorite = favoriteService.addFavorite(userId, propertyId, notes);
-            FavoriteResponse response = favoriteService.toFavoriteResponse(favorite);
+            FavoriteMutationResult result = favoriteMutationEngine.addFavorite(userId, propertyId, notes, idempotencyKey);
 
             return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(ApiResponse.success("Property added to favorites", response));
-        } catch (com.realestate.exception.DuplicateResourceException e) {
+                    .header(IDEMPOTENT_REPLAYED, String.valueOf(result.isReplayed()))
+                    .body(ApiResponse.success("Property added to favorites", result.getFavorite()));
+        } catch (com.realestate.exception.DuplicateResourceException
+                 | FavoriteMutationEngine.RequestInProgressException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT)
                     .body(ApiResponse.error(HttpStatus.CONFLICT.value(), e.getMessage()));
         } catch (com.realestate.exception.ResourceNotFoundException e) {
@@ -181,17 +237,22 @@ public class FavoriteController {
     /**
      * Toggle favorite for a property (add if not favorited, remove if favorited)
      * POST /api/favorites/toggle?userId=1&propertyId=5
+     * Optional Idempotency-Key header: a retry with the same key returns the original result
+     * instead of toggling back (409 if the original is still running)
      */
     @PostMapping("/toggle")
     public ResponseEntity<ApiResponse<?>> toggleFavorite(
             @RequestParam Long userId,
-            @RequestParam Long propertyId) {
+            @RequestParam Long propertyId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         try {
-            Favorite favorite = favoriteService.toggleFavorite(userId, propertyId);
+            FavoriteMutationResult result = favoriteMutationEngine.toggleFavorite(userId, propertyId, idempotencyKey);
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                    .header(IDEMPOTENT_REPLAYED, String.valueOf(result.isReplayed()));
 
-            if (favorite == null) {
+            if (result.getAction() == FavoriteMutationResult.Action.REMOVED) {
                 // Removed from favorites
-                return ResponseEntity.ok(ApiResponse.success(Map.of(
+                return ok.body(ApiResponse.success(Map.of(
                         "action", "removed",
                         "isFavorited", false,
                         "userId", userId,
@@ -200,12 +261,81 @@ public class FavoriteController {
             }
 
             // Added to favorites
-            FavoriteResponse response = favoriteService.toFavoriteResponse(favorite);
-            return ResponseEntity.ok(ApiResponse.success(Map.of(
+            return ok.body(ApiResponse.success(Map.of(
                     "action", "added",
                     "isFavorited", true,
-                    "favorite", response
+                    "favorite", result.getFavorite()
             ), "Property added to favorites"));
+        } catch (FavoriteMutationEngine.RequestInProgressException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error(HttpStatus.CONFLICT.value(), e.getMessage()));
+        } catch (com.realestate.exception.ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+
+    // ====================== BATCH ENDPOINTS ======================
+    // Body: { "userId": 1, "propertyIds": [5, 6, 7] } - results are reported per property ID
+
+    /**
+     * Check favorite status of many properties
+     * POST /api/favorites/batch/check
+     */
+    @PostMapping("/batch/check")
+    public ResponseEntity<ApiResponse<FavoriteBatchResponse>> checkFavorites(@RequestBody FavoriteBatchRequest request) {
+        return runBatch(request, () -> favoriteService.checkFavorites(request.getUserId(), request.getPropertyIds()),
+                "Favorite statuses retrieved");
+    }
+
+    /**
+     * Add many properties to favorites
+     * POST /api/favorites/batch/add
+     */
+    @PostMapping("/batch/add")
+    public ResponseEntity<ApiResponse<FavoriteBatchResponse>> addFavorites(@RequestBody FavoriteBatchRequest request) {
+        return runBatch(request, () -> favoriteService.addFavorites(request.getUserId(), request.getPropertyIds()),
+                "Batch add completed");
+    }
+
+    /**
+     * Remove many properties from favorites
+     * POST /api/favorites/batch/remove
+     */
+    @PostMapping("/batch/remove")
+    public ResponseEntity<ApiResponse<FavoriteBatchResponse>> removeFavorites(@RequestBody FavoriteBatchRequest request) {
+        return runBatch(request, () -> favoriteService.removeFavorites(request.getUserId(), request.getPropertyIds()),
+                "Batch remove completed");
+    }
+
+    /**
+     * Toggle many properties
+     * POST /api/favorites/batch/toggle
+     */
+    @PostMapping("/batch/toggle")
+    public ResponseEntity<ApiResponse<FavoriteBatchResponse>> toggleFavorites(@RequestBody FavoriteBatchRequest request) {
+        return runBatch(request, () -> favoriteService.toggleFavorites(request.getUserId(), request.getPropertyIds()),
+                "Batch toggle completed");
+    }
+
+    private ResponseEntity<ApiResponse<FavoriteBatchResponse>> runBatch(
+            FavoriteBatchRequest request,
+            Supplier<FavoriteBatchResponse> operation,
+            String message) {
+        if (request.getUserId() == null || request.getUserId() <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), "Invalid userId"));
+        }
+        if (request.getPropertyIds() == null || request.getPropertyIds().isEmpty()
+                || request.getPropertyIds().size() > 100) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), "propertyIds must contain 1 to 100 IDs"));
+        }
+        try {
+            return ResponseEntity.ok(ApiResponse.success(operation.get(), message));
         } catch (com.realestate.exception.ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error(HttpStatus.NOT_FOUND.value(), e.getMessage()));
@@ -0,0 +1,202 @@
+package com.realestate.service;
+
+import com.realestate.repository.PropertyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind maintenance of the denormalized properties.favorite_count column
+ * Increments/decrements from add/remove/toggle are coalesced per property in memory
+ * and flushed as one JDBC batch; a periodic reconciliation repairs any drift
+ * against the true COUNT(*) of the favorites table.
+ * Reads add the not-yet-flushed delta, so callers always see the current value.
+ * A delta stays pending until the UPDATE that applies it has committed, and the column write
+ * plus the matching subtraction happen under a write lock that currentCount() reads under,
+ * so a reader never sees a delta in both places or in neither.
+ */
+@Component
+public class FavoriteCountAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(FavoriteCountAggregator.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private SecondLevelCacheEvictor secondLevelCacheEvictor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // Write: applying deltas to the column (flush, reconcile). Read: column + pending in currentCount
+    private final ReadWriteLock columnLock = new ReentrantReadWriteLock();
+
+    /**
+     * Queue a +1/-1 for the property once the current transaction commits
+     */
+    public void record(Long propertyId, long delta) {
+        AfterCommit.run(() -> add(propertyId, delta));
+    }
+
+    /**
+     * All favorites of a property were removed: zero the column in the caller's transaction and,
+     * once it commits, drop the deltas that were queued when it ran (not ones recorded since)
+     */
+    public void reset(Long propertyId) {
+        long queued = pendingDelta(propertyId);
+        jdbcTemplate.update("UPDATE properties SET favorite_count = 0 WHERE id = ?", propertyId);
+        secondLevelCacheEvictor.evictProperties(List.of(propertyId));
+        AfterCommit.run(() -> subtract(propertyId, queued));
+    }
+
+    /**
+     * The property was deleted: drop its queued deltas once the delete commits
+     */
+    public void discard(Long propertyId) {
+        AfterCommit.run(() -> pending.remove(propertyId));
+    }
+
+    /**
+     * Delta not yet written to the column
+     */
+    public long pendingDelta(Long propertyId) {
+        LongAdder delta = pending.get(propertyId);
+        return delta != null ? delta.sum() : 0L;
+    }
+
+    /**
+     * Current favorite count: stored column plus pending delta
+     */
+    public long currentCount(Long propertyId) {
+        columnLock.readLock().lock();
+        try {
+            Long stored = propertyRepository.findFavoriteCountById(propertyId);
+            return Math.max(0, (stored != null ? stored : 0L) + pendingDelta(propertyId));
+        } finally {
+            columnLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apply coalesced deltas in a single batched UPDATE, then take exactly those amounts off
+     * the pending map; deltas recorded meanwhile stay queued for the next flush
+     */
+    @Scheduled(fixedDelayString = "${favorites.count.flush-interval-ms:1000}")
+    public void flush() {
+        columnLock.writeLock().lock();
+        try {
+            flushLocked();
+        } finally {
+            columnLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Repair drift between favorite_count and the real number of favorites rows
+     * Runs under the column lock, so no flush interleaves. Every delta queued before the statement
+     * belongs to a committed favorites row, which the recount already includes, so exactly those
+     * amounts are dropped afterwards; deltas recorded during the statement stay queued.
+     */
+    @Scheduled(cron = "${favorites.count.reconcile-cron:0 15 3 * * *}")
+    public void reconcile() {
+        columnLock.writeLock().lock();
+        try {
+            Map<Long, Long> queued = snapshot();
+            int repaired = jdbcTemplate.update(
+                    "UPDATE properties p JOIN (" +
+                    "    SELECT pr.id AS property_id, COUNT(f.id) AS cnt " +
+                    "    FROM properties pr LEFT JOIN favorites f ON f.property_id = pr.id " +
+                    "    GROUP BY pr.id) c ON c.property_id = p.id " +
+                    "SET p.favorite_count = c.cnt " +
+                    "WHERE p.favorite_count <> c.cnt");
+            queued.forEach(this::subtract);
+            if (repaired > 0) {
+                secondLevelCacheEvictor.evictAllProperties();
+                log.info("Favorite count reconciliation repaired {} properties", repaired);
+            }
+        } finally {
+            columnLock.writeLock().unlock();
+        }
+    }
+
+    private void flushLocked() {
+        List<Object[]> batch = new ArrayList<>();
+        snapshot().forEach((propertyId, delta) -> batch.add(new Object[]{delta, propertyId}));
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            // One transaction, so a failure leaves no row half-applied for the retry to double
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    "UPDATE properties SET favorite_count = GREATEST(favorite_count + ?, 0) WHERE id = ?", batch));
+        } catch (RuntimeException e) {
+            // Nothing was taken off the pending map, so the next flush retries the same deltas
+            log.warn("Favorite count flush failed for {} properties, retrying next cycle", batch.size(), e);
+            return;
+        }
+        for (Object[] row : batch) {
+            subtract((Long) row[1], (Long) row[0]);
+        }
+        // JDBC bypasses Hibernate, so cached Property entities still hold the old count
+        secondLevelCacheEvictor.evictProperties(batch.stream().map(row -> (Long) row[1]).collect(Collectors.toList()));
+    }
+
+    /**
+     * Non-zero pending sums at this moment
+     */
+    private Map<Long, Long> snapshot() {
+        Map<Long, Long> sums = new HashMap<>();
+        pending.forEach((propertyId, adder) -> {
+            long delta = adder.sum();
+            if (delta != 0) {
+                sums.put(propertyId, delta);
+            }
+        });
+        return sums;
+    }
+
+    /**
+     * Add under the map's bin lock, so subtract() can't drop the adder between lookup and add
+     */
+    private void add(Long propertyId, long delta) {
+        pending.compute(propertyId, (id, adder) -> {
+            LongAdder target = adder != null ? adder : new LongAdder();
+            target.add(delta);
+            return target;
+        });
+    }
+
+    /**
+     * Take an amount that has reached the column off the pending delta; drop the entry once it is zero
+     */
+    private void subtract(Long propertyId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        pending.computeIfPresent(propertyId, (id, adder) -> {
+            adder.add(-delta);
+            return adder.sum() == 0 ? null : adder;
+        });
+    }
+}
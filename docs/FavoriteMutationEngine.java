@@ -0,0 +1,231 @@
+package com.realestate.service;
+
+import com.realestate.dto.FavoriteMutationResult;
+import com.realestate.dto.FavoriteResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Concurrency-safe single add/toggle on top of FavoriteService
+ * - Striped locks: mutations of the same (user, property) pair run one at a time on this
+ *   instance, and the lock is held until the transaction commits, so a second toggle always
+ *   sees the first one's result. ReentrantLock rather than synchronized, so virtual threads
+ *   waiting on a stripe do not pin their carrier.
+ * - Idempotency keys: the first request with a key runs; retries with the same key get the
+ *   stored result, or wait a bounded time for it while the first is still running and then get
+ *   RequestInProgressException (409). A key reused with a different request (operation, property
+ *   or notes) is rejected. Failed attempts are forgotten so they can be retried. Keys are per user
+ *   and kept in memory for a bounded time.
+ * FavoriteService itself uses INSERT IGNORE / bulk DELETE, so instances that do not share
+ * these locks still never hit uk_user_property_favorite.
+ */
+@Component
+public class FavoriteMutationEngine {
+
+    @Autowired
+    private FavoriteService favoriteService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ReentrantLock[] stripes;
+    private final IdempotencyCache idempotencyCache;
+    private final long replayWaitMs;
+
+    /**
+     * A retry arrived while the first request with its idempotency key was still running
+     */
+    public static class RequestInProgressException extends RuntimeException {
+        public RequestInProgressException(String message) {
+            super(message);
+        }
+    }
+
+    public FavoriteMutationEngine(@Value("${favorites.mutation.lock-stripes:1024}") int lockStripes,
+                                  @Value("${favorites.idempotency.max-keys:100000}") int maxKeys,
+                                  @Value("${favorites.idempotency.ttl-seconds:600}") long ttlSeconds,
+                                  @Value("${favorites.idempotency.replay-wait-ms:5000}") long replayWaitMs) {
+        // Power of two so the stripe can be picked with a mask
+        int size = Integer.highestOneBit(Math.max(1, lockStripes - 1)) << 1;
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        idempotencyCache = new IdempotencyCache(maxKeys, ttlSeconds * 1000);
+        this.replayWaitMs = replayWaitMs;
+    }
+
+    public FavoriteMutationResult addFavorite(Long userId, Long propertyId, String notes, String idempotencyKey) {
+        String fingerprint = "add:" + propertyId + ":" + Objects.toString(notes, "");
+        return execute(userId, propertyId, fingerprint, idempotencyKey,
+                () -> added(favoriteService.addFavorite(userId, propertyId, notes)));
+    }
+
+    public FavoriteMutationResult toggleFavorite(Long userId, Long propertyId, String idempotencyKey) {
+        return execute(userId, propertyId, "toggle:" + propertyId, idempotencyKey, () -> {
+            FavoriteResponse favorite = favoriteService.toggleFavorite(userId, propertyId);
+            return favorite != null
+                    ? added(favorite)
+                    : FavoriteMutationResult.builder()
+                            .action(FavoriteMutationResult.Action.REMOVED)
+                            .isFavorited(false)
+                            .build();
+        });
+    }
+
+    /**
+     * @param fingerprint everything that identifies the request behind an idempotency key
+     */
+    private FavoriteMutationResult execute(Long userId, Long propertyId, String fingerprint, String idempotencyKey,
+                                           Supplier<FavoriteMutationResult> mutation) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return locked(userId, propertyId, mutation);
+        }
+
+        String key = userId + ":" + idempotencyKey;
+        CompletableFuture<FavoriteMutationResult> pending = new CompletableFuture<>();
+        IdempotencyCache.Entry existing = idempotencyCache.putIfAbsent(key, fingerprint, pending);
+        if (existing != null) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IllegalArgumentException("Idempotency key " + idempotencyKey
+                        + " was already used for a different request");
+            }
+            return replay(existing.result);
+        }
+
+        try {
+            FavoriteMutationResult result = locked(userId, propertyId, mutation);
+            pending.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            idempotencyCache.remove(key, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Run the mutation in its own transaction while holding the pair's stripe, releasing only after commit
+     */
+    private FavoriteMutationResult locked(Long userId, Long propertyId, Supplier<FavoriteMutationResult> mutation) {
+        ReentrantLock lock = stripes[stripe(userId, propertyId)];
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> mutation.get());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Result for an added favorite; the service already read it back with the projection query
+     */
+    private FavoriteMutationResult added(FavoriteResponse favorite) {
+        return FavoriteMutationResult.builder()
+                .action(FavoriteMutationResult.Action.ADDED)
+                .isFavorited(true)
+                .favorite(favorite)
+                .build();
+    }
+
+    /**
+     * Result of the first request with the key, waiting at most replay-wait-ms for it to finish
+     */
+    private FavoriteMutationResult replay(CompletableFuture<FavoriteMutationResult> result) {
+        try {
+            return result.get(replayWaitMs, TimeUnit.MILLISECONDS).toBuilder().replayed(true).build();
+        } catch (TimeoutException e) {
+            throw new RequestInProgressException("A request with this Idempotency-Key is still in progress");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause()
+                    : new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the original request");
+        }
+    }
+
+    private int stripe(Long userId, Long propertyId) {
+        long h = userId * 31 + propertyId;
+        h ^= (h >>> 33);
+        h *= 0xff51afd7ed558ccdL;
+        h ^= (h >>> 33);
+        return (int) h & (stripes.length - 1);
+    }
+
+    // ====================== IDEMPOTENCY KEYS ======================
+
+    /**
+     * Insertion-ordered map of key -> (request fingerprint, result); oldest entries expire first
+     */
+    private static final class IdempotencyCache {
+
+        static final class Entry {
+            final String fingerprint;
+            final CompletableFuture<FavoriteMutationResult> result;
+            final long createdAt;
+
+            Entry(String fingerprint, CompletableFuture<FavoriteMutationResult> result, long createdAt) {
+                this.fingerprint = fingerprint;
+                this.result = result;
+                this.createdAt = createdAt;
+            }
+        }
+
+        private final Map<String, Entry> entries = new LinkedHashMap<>();
+        private final int maxKeys;
+        private final long ttlMillis;
+
+        IdempotencyCache(int maxKeys, long ttlMillis) {
+            this.maxKeys = Math.max(1, maxKeys);
+            this.ttlMillis = ttlMillis;
+        }
+
+        /**
+         * Register a pending result for the key, or return the entry already registered
+         */
+        synchronized Entry putIfAbsent(String key, String fingerprint, CompletableFuture<FavoriteMutationResult> result) {
+            long now = System.currentTimeMillis();
+            expire(now);
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            entries.put(key, new Entry(fingerprint, result, now));
+            return null;
+        }
+
+        synchronized void remove(String key, CompletableFuture<FavoriteMutationResult> result) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.result == result) {
+                entries.remove(key);
+            }
+        }
+
+        private void expire(long now) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry oldest = iterator.next();
+                if (entries.size() < maxKeys && now - oldest.createdAt < ttlMillis) {
+                    break;
+                }
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.realestate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single add/toggle, as remembered for its idempotency key
+ * Holds the response DTO rather than the entity so a replay never touches a closed session
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class FavoriteMutationResult {
+
+    public enum Action {
+        ADDED,
+        REMOVED
+    }
+
+    private Action action;
+
+    private Boolean isFavorited;
+
+    private FavoriteResponse favorite;
+
+    /**
+     * True when this result was returned for a retried idempotency key rather than executed again
+     */
+    private boolean replayed;
+}
@@ -0,0 +1,142 @@
+package com.realestate.repository;
+
+import com.realestate.dto.FavoriteRow;
+import com.realestate.dto.FavoritesVersion;
+import com.realestate.model.Favorite;
+import com.realestate.model.Property;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+/**
+ * Repository for Favorite entity
+ * Includes grouped IN (...) queries used to hydrate a whole page of properties at once,
+ * and keyset queries ordered by (createdAt DESC, id DESC) for cursor pagination
+ */
+@Repository
+public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
+
+    List<Favorite> findByUserId(Long userId);
+
+    Page<Favorite> findByUserId(Long userId, Pageable pageable);
+
+    List<Favorite> findByPropertyId(Long propertyId);
+
+    Optional<Favorite> findByUserIdAndPropertyId(Long userId, Long propertyId);
+
+    boolean existsByUserIdAndPropertyId(Long userId, Long propertyId);
+
+    Long countByPropertyId(Long propertyId);
+
+    long countByUserId(Long userId);
+
+    @Query("SELECT f.property FROM Favorite f WHERE f.user.id = :userId")
+    List<Property> findFavoritePropertiesByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT f.property.id FROM Favorite f WHERE f.user.id = :userId")
+    List<Long> findPropertyIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Subset of the given property IDs that the user has favorited
+     */
+    @Query("SELECT f.property.id FROM Favorite f " +
+           "WHERE f.user.id = :userId AND f.property.id IN :propertyIds")
+    Set<Long> findFavoritedPropertyIds(@Param("userId") Long userId,
+                                       @Param("propertyIds") Collection<Long> propertyIds);
+
+    /**
+     * Bulk delete without loading entities (property cascade delete)
+     */
+    @Modifying
+    @Query("DELETE FROM Favorite f WHERE f.property.id IN :propertyIds")
+    int deleteAllByPropertyIdIn(@Param("propertyIds") Collection<Long> propertyIds);
+
+    /**
+     * Single-row delete without loading the entity; returns 1 if the favorite existed
+     */
+    @Modifying
+    @Query("DELETE FROM Favorite f WHERE f.user.id = :userId AND f.property.id = :propertyId")
+    int deleteByUserIdAndPropertyId(@Param("userId") Long userId, @Param("propertyId") Long propertyId);
+
+    /**
+     * Insert unless the (user, property) pair already exists, in one statement
+     * Returns 1 if inserted, 0 otherwise. INSERT IGNORE also turns a missing user or property
+     * (foreign key failure) into 0, so callers must tell the two apart when 0 comes back.
+     * The query space limits second-level cache invalidation to the favorites table.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "favorites"))
+    @Query(value = "INSERT IGNORE INTO favorites (user_id, property_id, notes, created_at, updated_at) " +
+                   "VALUES (:userId, :propertyId, :notes, NOW(), NOW())", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("propertyId") Long propertyId,
+                       @Param("notes") String notes);
+
+    /**
+     * Forward-only stream of a user's favorites with their property, for exports
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT f FROM Favorite f JOIN FETCH f.property WHERE f.user.id = :userId ORDER BY f.id")
+    Stream<Favorite> streamByUserId(@Param("userId") Long userId);
+
+    // ====================== PROJECTIONS ======================
+    // One statement per call: favorite + property columns + primary image URL, no entities
+
+    String ROW_SELECT = "SELECT new com.realestate.dto.FavoriteRow(" +
+            "f.id, f.user.id, p.id, f.notes, f.createdAt, p.title, p.address, p.city, p.state, p.price, " +
+            "p.bedrooms, p.bathrooms, p.squareFeet, p.listingType, p.propertyType, " +
+            "(SELECT i.imageUrl FROM PropertyImage i WHERE i.property.id = p.id " +
+            " ORDER BY i.isPrimary DESC, i.displayOrder ASC, i.id ASC LIMIT 1)) " +
+            "FROM Favorite f JOIN f.property p ";
+
+    @Query(ROW_SELECT + "WHERE f.user.id = :userId")
+    List<FavoriteRow> findRowsByUserId(@Param("userId") Long userId);
+
+    @Query(value = ROW_SELECT + "WHERE f.user.id = :userId",
+           countQuery = "SELECT COUNT(f) FROM Favorite f WHERE f.user.id = :userId")
+    Page<FavoriteRow> findRowsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(ROW_SELECT + "WHERE f.user.id = :userId AND p.id = :propertyId")
+    Optional<FavoriteRow> findRowByUserIdAndPropertyId(@Param("userId") Long userId,
+                                                       @Param("propertyId") Long propertyId);
+
+    /**
+     * Everything a user's favorites list depends on, in one aggregate row (see ResponseVersions)
+     * Adding or removing a favorite changes the count and id sum; editing notes, the property
+     * (images included) or its owner's profile moves one of the timestamps.
+     */
+    @Query("SELECT new com.realestate.dto.FavoritesVersion(" +
+           "COUNT(f), COALESCE(SUM(f.id), 0), MAX(f.updatedAt), MAX(p.updatedAt), MAX(o.updatedAt)) " +
+           "FROM Favorite f JOIN f.property p LEFT JOIN p.owner o WHERE f.user.id = :userId")
+    FavoritesVersion findVersionByUserId(@Param("userId") Long userId);
+
+    // ====================== KEYSET PAGINATION ======================
+
+    @Query(ROW_SELECT + "WHERE f.user.id = :userId " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FavoriteRow> findByUserFirstPage(@Param("userId") Long userId, Pageable limit);
+
+    @Query(ROW_SELECT + "WHERE f.user.id = :userId AND " +
+           "(f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id)) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FavoriteRow> findByUserAfter(@Param("userId") Long userId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable limit);
+}
@@ -0,0 +1,36 @@
+package com.realestate.dto;
+
+import com.realestate.model.ListingType;
+import com.realestate.model.PropertyType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat projection of a favorite and its property summary, filled by a JPQL constructor expression
+ * Carries exactly the FavoriteResponse columns, so no entity (or lazy association) is loaded.
+ * Field order is the constructor order used by the FavoriteRepository queries.
+ */
+@Getter
+@AllArgsConstructor
+public class FavoriteRow {
+
+    private final Long id;
+    private final Long userId;
+    private final Long propertyId;
+    private final String notes;
+    private final LocalDateTime createdAt;
+    private final String title;
+    private final String address;
+    private final String city;
+    private final String state;
+    private final BigDecimal price;
+    private final Integer bedrooms;
+    private final Integer bathrooms;
+    private final Integer squareFeet;
+    private final ListingType listingType;
+    private final PropertyType propertyType;
+    private final String imageUrl;
+}
@@ -1,13 +1,16 @@
 package com.realestate.service;
 
+import com.realestate.dto.CursorPageResponse;
+import com.realestate.dto.FavoriteBatchResponse;
 import com.realestate.dto.FavoriteResponse;
+import com.realestate.dto.FavoriteRow;
+import com.realestate.dto.PageCursor;
 import com.realestate.dto.PageResponse;
 import com.realestate.exception.DuplicateResourceException;
 import com.realestate.exception.ResourceNotFoundException;
 import com.realestate.model.Favorite;
 import com.realestate.model.Property;
 import com.realestate.model.PropertyImage;
-import com.realestate.model.User;
 import com.realestate.repository.FavoriteRepository;
 import com.realestate.repository.PropertyRepository;
 import com.realestate.repository.UserRepository;
@@ -19,9 +22,14 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -43,44 +51,39 @@ public class FavoriteService {
     @Autowired
     private PropertyRepository propertyRepository;
 
+    @Autowired
+    private FavoriteCache favoriteCache;
+
+    @Autowired
+    private FavoriteCountAggregator favoriteCountAggregator;
+
     /**
      * Add a property to user's favorites
+     * Uses a single INSERT IGNORE, so concurrent adds of the same pair never hit
+     * uk_user_property_favorite; existence checks only run when nothing was inserted.
      * @param userId User ID
      * @param propertyId Property ID
      * @param notes Optional notes about the property
-     * @return Saved Favorite object
+     * @return the new favorite, read back with the one projection query
      * @throws ResourceNotFoundException if user or property not found
      * @throws DuplicateResourceException if already favorited
      */
-    public Favorite addFavorite(Long userId, Long propertyId, String notes) {
-        // Validate user exists
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
-
-        // Validate property exists
-        Property property = propertyRepository.findById(propertyId)
-                .orElseThrow(() -> new ResourceNotFoundException("Property", "id", propertyId));
-
-        // Check if already favorited
-        if (favoriteRepository.existsByUserIdAndPropertyId(userId, propertyId)) {
-            throw new DuplicateResourceException("Property is already in favorites for this user");
+    public FavoriteResponse addFavorite(Long userId, Long propertyId, String notes) {
+        if (favoriteRepository.insertIfAbsent(userId, propertyId, notes != null ? notes.trim() : "") == 0) {
+            if (favoriteRepository.existsByUserIdAndPropertyId(userId, propertyId)) {
+                throw new DuplicateResourceException("Property is already in favorites for this user");
+            }
+            throw missingReference(userId, propertyId);
         }
 
-        // Create new favorite
-        Favorite favorite = new Favorite();
-        favorite.setUser(user);
-        favorite.setProperty(property);
-        favorite.setNotes(notes != null ? notes.trim() : "");
-        favorite.setCreatedAt(LocalDateTime.now());
-
-        // Save to database for real-time reflection
-        return favoriteRepository.save(favorite);
+        recordAdded(userId, propertyId);
+        return getFavoriteResponse(userId, propertyId);
     }
 
     /**
      * Overloaded method without notes
      */
-    public Favorite addFavorite(Long userId, Long propertyId) {
+    public FavoriteResponse addFavorite(Long userId, Long propertyId) {
         return addFavorite(userId, propertyId, "");
     }
 
@@ -91,10 +94,11 @@ public class FavoriteService {
      * @throws ResourceNotFoundException if favorite not found
      */
     public void removeFavorite(Long userId, Long propertyId) {
-        Favorite favorite = favoriteRepository.findByUserIdAndPropertyId(userId, propertyId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Favorite not found for user " + userId + " and property " + propertyId));
-        favoriteRepository.delete(favorite);
+        if (favoriteRepository.deleteByUserIdAndPropertyId(userId, propertyId) == 0) {
+            throw new ResourceNotFoundException(
+                    "Favorite not found for user " + userId + " and property " + propertyId);
+        }
+        recordRemoved(userId, propertyId);
     }
 
     /**
@@ -103,10 +107,11 @@ public class FavoriteService {
      * @throws ResourceNotFoundException if favorite not found
      */
     public void removeFavoriteById(Long favoriteId) {
-        if (!favoriteRepository.existsById(favoriteId)) {
-            throw new ResourceNotFoundException("Favorite", "id", favoriteId);
-        }
-        favoriteRepository.deleteById(favoriteId);
+        Favorite favorite = favoriteRepository.findById(favoriteId)
+                .orElseThrow(() -> new ResourceNotFoundException("Favorite", "id", favoriteId));
+        favoriteRepository.delete(favorite);
+        favoriteCache.onRemoved(favorite.getUser().getId(), favorite.getProperty().getId());
+        favoriteCountAggregator.record(favorite.getProperty().getId(), -1);
     }
 
     /**
@@ -124,8 +129,7 @@ public class FavoriteService {
      * @return List of FavoriteResponse objects with property details
      */
     public List<FavoriteResponse> getUserFavoritesResponse(Long userId) {
-        List<Favorite> favorites = favoriteRepository.findByUserId(userId);
-        return favorites.stream()
+        return favoriteRepository.findRowsByUserId(userId).stream()
                 .map(this::toFavoriteResponse)
                 .collect(Collectors.toList());
     }
@@ -154,16 +158,61 @@ public class FavoriteService {
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        // Query database for paginated results
-        Page<Favorite> favoritePage = favoriteRepository.findByUserId(userId, pageable);
+        // Query database for paginated results (projection: one statement for the page)
+        Page<FavoriteRow> favoritePage = favoriteRepository.findRowsByUserId(userId, pageable);
 
         return buildPageResponse(favoritePage);
     }
 
     /**
-     * Convert Page<Favorite> to PageResponse<FavoriteResponse>
+     * Get a user's favorites, newest first, using keyset pagination on (createdAt, id)
+     * Avoids the COUNT(*) of getUserFavoritesPaged unless includeTotal is set
+     * @param userId User ID
+     * @param cursor nextCursor from the previous page, or null for the first page
+     * @param size Page size
+     * @param includeTotal Also compute totalElements
+     * @return CursorPageResponse with FavoriteResponse objects
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    private PageResponse<FavoriteResponse> buildPageResponse(Page<Favorite> page) {
+    public CursorPageResponse<FavoriteResponse> getUserFavoritesCursor(
+            Long userId, String cursor, int size, boolean includeTotal) {
+
+        if (size <= 0) size = 10;
+        if (size > 100) size = 100; // Max 100 items per page
+
+        PageCursor position = PageCursor.decode(cursor);
+        if (position != null && !position.isSeek()) {
+            throw new IllegalArgumentException("Invalid cursor: expected a (createdAt, id) cursor");
+        }
+
+        // Fetch one extra row to know whether another page exists
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<FavoriteRow> rows = position == null
+                ? favoriteRepository.findByUserFirstPage(userId, limit)
+                : favoriteRepository.findByUserAfter(userId, position.getCreatedAt(), position.getId(), limit);
+
+        boolean hasNext = rows.size() > size;
+        List<FavoriteRow> content = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            FavoriteRow last = content.get(content.size() - 1);
+            nextCursor = PageCursor.seek(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return CursorPageResponse.<FavoriteResponse>builder()
+                .content(content.stream().map(this::toFavoriteResponse).collect(Collectors.toList()))
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(includeTotal ? favoriteRepository.countByUserId(userId) : null)
+                .build();
+    }
+
+    /**
+     * Convert Page<FavoriteRow> to PageResponse<FavoriteResponse>
+     */
+    private PageResponse<FavoriteResponse> buildPageResponse(Page<FavoriteRow> page) {
         List<FavoriteResponse> content = page.getContent().stream()
                 .map(this::toFavoriteResponse)
                 .collect(Collectors.toList());
@@ -181,9 +230,49 @@ public class FavoriteService {
                 .build();
     }
 
+    /**
+     * FavoriteResponse for one (user, property) pair via the projection query
+     * Used for add/toggle responses instead of walking the new entity's lazy associations
+     */
+    @Transactional(readOnly = true)
+    public FavoriteResponse getFavoriteResponse(Long userId, Long propertyId) {
+        return favoriteRepository.findRowByUserIdAndPropertyId(userId, propertyId)
+                .map(this::toFavoriteResponse)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Favorite not found for user " + userId + " and property " + propertyId));
+    }
+
+    /**
+     * Convert a projection row to FavoriteResponse DTO (no entity access)
+     */
+    private FavoriteResponse toFavoriteResponse(FavoriteRow row) {
+        return FavoriteResponse.builder()
+                .id(row.getId())
+                .userId(row.getUserId())
+                .propertyId(row.getPropertyId())
+                .notes(row.getNotes())
+                .createdAt(row.getCreatedAt())
+                .property(FavoriteResponse.PropertySummary.builder()
+                        .id(row.getPropertyId())
+                        .title(row.getTitle())
+                        .address(row.getAddress())
+                        .city(row.getCity())
+                        .state(row.getState())
+                        .price(row.getPrice())
+                        .imageUrl(row.getImageUrl())
+                        .bedrooms(row.getBedrooms())
+                        .bathrooms(row.getBathrooms())
+                        .squareFeet(row.getSquareFeet())
+                        .listingType(row.getListingType())
+                        .propertyType(row.getPropertyType())
+                        .build())
+                .build();
+    }
+
     /**
      * Convert Favorite entity to FavoriteResponse DTO
      * Extracts primary image and formats data for frontend
+     * Loads the property and its images lazily; list and page paths use FavoriteRow instead
      */
     public FavoriteResponse toFavoriteResponse(Favorite favorite) {
         Property property = favorite.getProperty();
@@ -237,7 +326,7 @@ public class FavoriteService {
      * @return true if favorited, false otherwise
      */
     public boolean isFavorited(Long userId, Long propertyId) {
-        return favoriteRepository.existsByUserIdAndPropertyId(userId, propertyId);
+        return favoriteCache.isFavorited(userId, propertyId);
     }
 
     /**
@@ -246,7 +335,7 @@ public class FavoriteService {
      * @return Count of users who favorited this property
      */
     public Long getFavoriteCount(Long propertyId) {
-        return favoriteRepository.countByPropertyId(propertyId);
+        return favoriteCache.getFavoriteCount(propertyId);
     }
 
     /**
@@ -277,21 +366,180 @@ public class FavoriteService {
     /**
      * Toggle favorite for a property
      * If already favorited, remove it. If not, add it.
+     * Delete-then-insert-if-absent instead of read-then-write: neither statement can
+     * violate uk_user_property_favorite, so concurrent toggles never fail.
      * @param userId User ID
      * @param propertyId Property ID
-     * @return Favorite object if added (null if removed)
+     * @return the favorite if added, read back with the one projection query (null if removed)
      */
-    public Favorite toggleFavorite(Long userId, Long propertyId) {
-        Optional<Favorite> existingFavorite = favoriteRepository.findByUserIdAndPropertyId(userId, propertyId);
-
-        if (existingFavorite.isPresent()) {
-            // Already favorited - remove it
-            favoriteRepository.delete(existingFavorite.get());
+    public FavoriteResponse toggleFavorite(Long userId, Long propertyId) {
+        if (favoriteRepository.deleteByUserIdAndPropertyId(userId, propertyId) > 0) {
+            recordRemoved(userId, propertyId);
             return null; // Indicates removal
-        } else {
-            // Not favorited - add it
-            return addFavorite(userId, propertyId);
         }
+
+        if (favoriteRepository.insertIfAbsent(userId, propertyId, "") > 0) {
+            recordAdded(userId, propertyId);
+        } else if (!favoriteRepository.existsByUserIdAndPropertyId(userId, propertyId)) {
+            throw missingReference(userId, propertyId);
+        }
+        // else a concurrent add won the insert; the pair is favorited either way
+        return getFavoriteResponse(userId, propertyId);
+    }
+
+    /**
+     * Which side of the foreign key made INSERT IGNORE skip the row
+     */
+    private ResourceNotFoundException missingReference(Long userId, Long propertyId) {
+        if (!userRepository.existsById(userId)) {
+            return new ResourceNotFoundException("User", "id", userId);
+        }
+        return new ResourceNotFoundException("Property", "id", propertyId);
+    }
+
+    // ====================== BATCH OPERATIONS ======================
+
+    /**
+     * Favorite status of many properties for one user, in one query
+     * @param userId User ID
+     * @param propertyIds Property IDs (duplicates are ignored)
+     * @return FAVORITED / NOT_FAVORITED per property
+     */
+    @Transactional(readOnly = true)
+    public FavoriteBatchResponse checkFavorites(Long userId, List<Long> propertyIds) {
+        Set<Long> ids = new LinkedHashSet<>(propertyIds);
+        Set<Long> favorited = favoriteRepository.findFavoritedPropertyIds(userId, ids);
+
+        List<FavoriteBatchResponse.Item> results = new ArrayList<>();
+        for (Long propertyId : ids) {
+            boolean isFavorited = favorited.contains(propertyId);
+            results.add(item(propertyId,
+                    isFavorited ? FavoriteBatchResponse.Status.FAVORITED : FavoriteBatchResponse.Status.NOT_FAVORITED,
+                    isFavorited));
+        }
+        return batchResponse(userId, results);
+    }
+
+    /**
+     * Add many properties to a user's favorites in one transaction
+     * Already-favorited and unknown properties are reported per ID instead of failing the batch
+     * @throws ResourceNotFoundException if the user does not exist
+     */
+    public FavoriteBatchResponse addFavorites(Long userId, List<Long> propertyIds) {
+        Set<Long> ids = new LinkedHashSet<>(propertyIds);
+        return batchResponse(userId, new ArrayList<>(addMissing(userId, ids).values()));
+    }
+
+    /**
+     * Remove many properties from a user's favorites in one transaction
+     */
+    public FavoriteBatchResponse removeFavorites(Long userId, List<Long> propertyIds) {
+        Set<Long> ids = new LinkedHashSet<>(propertyIds);
+        return batchResponse(userId, new ArrayList<>(removeExisting(userId, ids).values()));
+    }
+
+    /**
+     * Toggle many properties in one transaction: favorited ones are removed, the rest added
+     */
+    public FavoriteBatchResponse toggleFavorites(Long userId, List<Long> propertyIds) {
+        Set<Long> ids = new LinkedHashSet<>(propertyIds);
+        Set<Long> favorited = favoriteRepository.findFavoritedPropertyIds(userId, ids);
+
+        Set<Long> toRemove = new LinkedHashSet<>(favorited);
+        Set<Long> toAdd = new LinkedHashSet<>(ids);
+        toAdd.removeAll(favorited);
+
+        Map<Long, FavoriteBatchResponse.Item> byId = new HashMap<>();
+        byId.putAll(removeExisting(userId, toRemove));
+        byId.putAll(addMissing(userId, toAdd));
+
+        List<FavoriteBatchResponse.Item> results = ids.stream()
+                .map(byId::get)
+                .collect(Collectors.toList());
+        return batchResponse(userId, results);
+    }
+
+    /**
+     * Insert each ID with INSERT IGNORE and report ADDED from the affected rows
+     * A concurrent add of the same pair just yields 0 instead of failing the batch on
+     * uk_user_property_favorite; the IDs that came back 0 are classified with one extra query.
+     */
+    private Map<Long, FavoriteBatchResponse.Item> addMissing(Long userId, Set<Long> ids) {
+        Map<Long, FavoriteBatchResponse.Item> results = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return results;
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+
+        Set<Long> skipped = new LinkedHashSet<>();
+        for (Long propertyId : ids) {
+            if (favoriteRepository.insertIfAbsent(userId, propertyId, "") > 0) {
+                recordAdded(userId, propertyId);
+                results.put(propertyId, item(propertyId, FavoriteBatchResponse.Status.ADDED, true));
+            } else {
+                skipped.add(propertyId);
+            }
+        }
+
+        // INSERT IGNORE skips both existing pairs and missing properties
+        Set<Long> favorited = skipped.isEmpty() ? Set.of()
+                : favoriteRepository.findFavoritedPropertyIds(userId, skipped);
+        for (Long propertyId : skipped) {
+            results.put(propertyId, favorited.contains(propertyId)
+                    ? item(propertyId, FavoriteBatchResponse.Status.ALREADY_FAVORITED, true)
+                    : item(propertyId, FavoriteBatchResponse.Status.PROPERTY_NOT_FOUND, false));
+        }
+        return results;
+    }
+
+    /**
+     * Delete each ID and report REMOVED only where a row was actually deleted
+     */
+    private Map<Long, FavoriteBatchResponse.Item> removeExisting(Long userId, Set<Long> ids) {
+        Map<Long, FavoriteBatchResponse.Item> results = new LinkedHashMap<>();
+        for (Long propertyId : ids) {
+            boolean removed = favoriteRepository.deleteByUserIdAndPropertyId(userId, propertyId) > 0;
+            if (removed) {
+                recordRemoved(userId, propertyId);
+            }
+            results.put(propertyId, item(propertyId,
+                    removed ? FavoriteBatchResponse.Status.REMOVED : FavoriteBatchResponse.Status.NOT_FAVORITED,
+                    false));
+        }
+        return results;
+    }
+
+    private void recordAdded(Long userId, Long propertyId) {
+        favoriteCache.onAdded(userId, propertyId);
+        favoriteCountAggregator.record(propertyId, 1);
+    }
+
+    private void recordRemoved(Long userId, Long propertyId) {
+        favoriteCache.onRemoved(userId, propertyId);
+        favoriteCountAggregator.record(propertyId, -1);
+    }
+
+    private static FavoriteBatchResponse.Item item(Long propertyId, FavoriteBatchResponse.Status status,
+                                                   boolean isFavorited) {
+        return FavoriteBatchResponse.Item.builder()
+                .propertyId(propertyId)
+                .status(status)
+                .isFavorited(isFavorited)
+                .build();
+    }
+
+    private static FavoriteBatchResponse batchResponse(Long userId, List<FavoriteBatchResponse.Item> results) {
+        int failed = (int) results.stream()
+                .filter(i -> i.getStatus() == FavoriteBatchResponse.Status.PROPERTY_NOT_FOUND)
+                .count();
+        return FavoriteBatchResponse.builder()
+                .userId(userId)
+                .results(results)
+                .succeeded(results.size() - failed)
+                .failed(failed)
+                .build();
     }
 
     /**
@@ -311,6 +559,11 @@ public class FavoriteService {
     public void deleteUserFavorites(Long userId) {
         List<Favorite> favorites = favoriteRepository.findByUserId(userId);
         favoriteRepository.deleteAll(favorites);
+        List<Long> propertyIds = favorites.stream()
+                .map(f -> f.getProperty().getId())
+                .collect(Collectors.toList());
+        propertyIds.forEach(propertyId -> favoriteCountAggregator.record(propertyId, -1));
+        favoriteCache.onUserCleared(userId, propertyIds);
     }
 
     /**
@@ -321,5 +574,7 @@ public class FavoriteService {
     public void deletePropertyFavorites(Long propertyId) {
         List<Favorite> favorites = favoriteRepository.findByPropertyId(propertyId);
         favoriteRepository.deleteAll(favorites);
+        favoriteCountAggregator.reset(propertyId);
+        favoriteCache.onPropertiesCleared(List.of(propertyId));
     }
 }
@@ -0,0 +1,158 @@
+package com.realestate.benchmark;
+
+import com.realestate.RealEstateApplication;
+import com.realestate.dto.FavoriteMutationResult;
+import com.realestate.model.Favorite;
+import com.realestate.model.Property;
+import com.realestate.model.User;
+import com.realestate.repository.FavoriteRepository;
+import com.realestate.service.FavoriteMutationEngine;
+import com.realestate.service.PropertyService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-threaded stress run for single favorite toggles on a small set of hot (user, property) pairs
+ * - checkThenActToggle: the previous find-then-save/delete toggle, for comparison
+ * - engineToggle: FavoriteMutationEngine (striped lock + INSERT IGNORE / bulk DELETE)
+ * - idempotentRetry: toggle with a fresh key, then retry with the same key
+ * Aux counters report constraint violations and replay mismatches; both must stay 0 for the engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class FavoriteToggleStressBenchmark {
+
+    @Param({"4", "64"})
+    public int hotPairs;
+
+    private ConfigurableApplicationContext context;
+    private FavoriteMutationEngine engine;
+    private FavoriteRepository favoriteRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    private List<Long> userIds;
+    private List<Property> properties;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long violations;
+        public long replayMismatches;
+        public long ops;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(RealEstateApplication.class,
+                "--spring.profiles.active=benchmark",
+                "--spring.datasource.url=jdbc:h2:mem:toggle;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.main.web-application-type=none",
+                "--logging.level.root=WARN");
+
+        engine = context.getBean(FavoriteMutationEngine.class);
+        favoriteRepository = context.getBean(FavoriteRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        BenchmarkDataGenerator generator = new BenchmarkDataGenerator(entityManager, transactionTemplate);
+        userIds = generator.generate(Math.max(hotPairs, 16), 0, 4, 0);
+        properties = context.getBean(PropertyService.class).getRecentProperties(hotPairs);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void checkThenActToggle(Outcomes outcomes) {
+        Long userId = randomUser();
+        Long propertyId = randomProperty();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Optional<Favorite> existing = favoriteRepository.findByUserIdAndPropertyId(userId, propertyId);
+                if (existing.isPresent()) {
+                    favoriteRepository.delete(existing.get());
+                } else {
+                    Favorite favorite = new Favorite();
+                    favorite.setUser(entityManager.getReference(User.class, userId));
+                    favorite.setProperty(entityManager.getReference(Property.class, propertyId));
+                    favorite.setNotes("");
+                    favorite.setCreatedAt(LocalDateTime.now());
+                    favoriteRepository.save(favorite);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            outcomes.violations++;
+        }
+        outcomes.ops++;
+    }
+
+    @Benchmark
+    public void engineToggle(Outcomes outcomes) {
+        try {
+            engine.toggleFavorite(randomUser(), randomProperty(), null);
+        } catch (DataIntegrityViolationException e) {
+            outcomes.violations++;
+        }
+        outcomes.ops++;
+    }
+
+    @Benchmark
+    public void idempotentRetry(Outcomes outcomes) {
+        Long userId = randomUser();
+        Long propertyId = randomProperty();
+        String key = UUID.randomUUID().toString();
+        try {
+            FavoriteMutationResult first = engine.toggleFavorite(userId, propertyId, key);
+            FavoriteMutationResult retry = engine.toggleFavorite(userId, propertyId, key);
+            if (!retry.isReplayed() || retry.getAction() != first.getAction()) {
+                outcomes.replayMismatches++;
+            }
+        } catch (DataIntegrityViolationException e) {
+            outcomes.violations++;
+        }
+        outcomes.ops++;
+    }
+
+    private Long randomUser() {
+        // Two users share the hot properties so pairs contend across users as well
+        return userIds.get(ThreadLocalRandom.current().nextInt(2));
+    }
+
+    private Long randomProperty() {
+        return properties.get(ThreadLocalRandom.current().nextInt(properties.size())).getId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FavoriteToggleStressBenchmark.class.getSimpleName() + (args.length > 0 ? "." + args[0] : ""))
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-toggle-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,21 @@
+package com.realestate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate version of one user's favorites list, filled by a JPQL constructor expression
+ * Timestamps are null when the list is empty.
+ */
+@Getter
+@AllArgsConstructor
+public class FavoritesVersion {
+
+    private final Long count;
+    private final Long idSum;
+    private final LocalDateTime lastFavoriteUpdate;
+    private final LocalDateTime lastPropertyUpdate;
+    private final LocalDateTime lastOwnerUpdate;
+}
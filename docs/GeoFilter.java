@@ -0,0 +1,204 @@
+package com.realestate.service;
+
+import com.realestate.dto.PropertySearchRequest;
+
+/**
+ * Geo part of a PropertySearchRequest: a bounding box (map viewport), a radius around a
+ * center point, or both. The radius is turned into its own bounding box and intersected
+ * with the viewport, so every caller can prefilter on the box and then test the exact shape.
+ * Boxes crossing the antimeridian (minLongitude > maxLongitude) are rejected; clients split them.
+ */
+public final class GeoFilter {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final double KM_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final double minLatitude;
+    private final double maxLatitude;
+    private final double minLongitude;
+    private final double maxLongitude;
+
+    // NaN when the request has no center point
+    private final double centerLatitude;
+    private final double centerLongitude;
+    private final double radiusKm;
+
+    private GeoFilter(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude,
+                      double centerLatitude, double centerLongitude, double radiusKm) {
+        this.minLatitude = minLatitude;
+        this.maxLatitude = maxLatitude;
+        this.minLongitude = minLongitude;
+        this.maxLongitude = maxLongitude;
+        this.centerLatitude = centerLatitude;
+        this.centerLongitude = centerLongitude;
+        this.radiusKm = radiusKm;
+    }
+
+    /**
+     * @return null if the request has no geo filter
+     * @throws IllegalArgumentException if the geo parameters are incomplete or out of range
+     */
+    public static GeoFilter from(PropertySearchRequest request) {
+        boolean hasCenter = request.getLatitude() != null || request.getLongitude() != null;
+        boolean hasRadius = request.getRadiusKm() != null;
+        boolean hasBounds = request.getMinLatitude() != null || request.getMaxLatitude() != null
+                || request.getMinLongitude() != null || request.getMaxLongitude() != null;
+        if (!hasCenter && !hasRadius && !hasBounds) {
+            return null;
+        }
+
+        double minLat = -90, maxLat = 90, minLng = -180, maxLng = 180;
+        if (hasBounds) {
+            if (request.getMinLatitude() == null || request.getMaxLatitude() == null
+                    || request.getMinLongitude() == null || request.getMaxLongitude() == null) {
+                throw new IllegalArgumentException(
+                        "A bounding box needs minLatitude, maxLatitude, minLongitude and maxLongitude");
+            }
+            minLat = latitude(request.getMinLatitude(), "minLatitude");
+            maxLat = latitude(request.getMaxLatitude(), "maxLatitude");
+            minLng = longitude(request.getMinLongitude(), "minLongitude");
+            maxLng = longitude(request.getMaxLongitude(), "maxLongitude");
+            if (minLat > maxLat) {
+                throw new IllegalArgumentException("minLatitude must not be greater than maxLatitude");
+            }
+            if (minLng > maxLng) {
+                throw new IllegalArgumentException(
+                        "minLongitude must not be greater than maxLongitude; split boxes that cross 180");
+            }
+        }
+
+        double centerLat = Double.NaN, centerLng = Double.NaN, radius = Double.NaN;
+        if (hasCenter) {
+            if (request.getLatitude() == null || request.getLongitude() == null) {
+                throw new IllegalArgumentException("latitude and longitude must be given together");
+            }
+            centerLat = latitude(request.getLatitude(), "latitude");
+            centerLng = longitude(request.getLongitude(), "longitude");
+        }
+        if (hasRadius) {
+            if (!hasCenter) {
+                throw new IllegalArgumentException("radiusKm needs latitude and longitude");
+            }
+            radius = request.getRadiusKm();
+            if (!(radius > 0)) {
+                throw new IllegalArgumentException("radiusKm must be positive");
+            }
+            // Box around the circle; the widest longitude span is asin(sin(r/R) / cos(lat))
+            double dLat = radius / KM_PER_DEGREE_LAT;
+            double sinAngle = Math.sin(Math.min(Math.PI / 2, radius / EARTH_RADIUS_KM));
+            double cosLat = Math.cos(Math.toRadians(centerLat));
+            double dLng = sinAngle < cosLat ? Math.toDegrees(Math.asin(sinAngle / cosLat)) : 180;
+            minLat = Math.max(minLat, centerLat - dLat);
+            maxLat = Math.min(maxLat, centerLat + dLat);
+            if (staysWithinLongitudeRange(centerLat, dLat, centerLng, dLng)) {
+                minLng = Math.max(minLng, centerLng - dLng);
+                maxLng = Math.min(maxLng, centerLng + dLng);
+            }
+        } else if (!hasBounds) {
+            throw new IllegalArgumentException("latitude/longitude need radiusKm or a bounding box");
+        }
+
+        return new GeoFilter(minLat, maxLat, minLng, maxLng, centerLat, centerLng, radius);
+    }
+
+    /**
+     * Great-circle (haversine) distance in kilometres
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(Math.min(1, haversine(lat1, lng1, lat2, lng2))));
+    }
+
+    /**
+     * Exact test: inside the box and, if a radius was given, inside the circle
+     */
+    public boolean contains(double latitude, double longitude) {
+        // Written as a positive test so NaN (no coordinates) never matches
+        if (!(latitude >= minLatitude && latitude <= maxLatitude
+                && longitude >= minLongitude && longitude <= maxLongitude)) {
+            return false;
+        }
+        return !hasRadius() || distanceKm(centerLatitude, centerLongitude, latitude, longitude) <= radiusKm;
+    }
+
+    /**
+     * Distance from the center point; only meaningful when hasCenter()
+     */
+    public double distanceFromCenterKm(double latitude, double longitude) {
+        return distanceKm(centerLatitude, centerLongitude, latitude, longitude);
+    }
+
+    /**
+     * Increases with distance from the center but skips the sqrt/asin; for sorting only
+     */
+    public double distanceRank(double latitude, double longitude) {
+        return haversine(centerLatitude, centerLongitude, latitude, longitude);
+    }
+
+    public boolean hasCenter() {
+        return !Double.isNaN(centerLatitude);
+    }
+
+    public boolean hasRadius() {
+        return !Double.isNaN(radiusKm);
+    }
+
+    public double getMinLatitude() {
+        return minLatitude;
+    }
+
+    public double getMaxLatitude() {
+        return maxLatitude;
+    }
+
+    public double getMinLongitude() {
+        return minLongitude;
+    }
+
+    public double getMaxLongitude() {
+        return maxLongitude;
+    }
+
+    public Double getCenterLatitude() {
+        return hasCenter() ? centerLatitude : null;
+    }
+
+    public Double getCenterLongitude() {
+        return hasCenter() ? centerLongitude : null;
+    }
+
+    public Double getRadiusKm() {
+        return hasRadius() ? radiusKm : null;
+    }
+
+    /**
+     * A circle that reaches a pole or wraps past 180 can't be bounded by one longitude range,
+     * so the longitude side of the box is left open in that case
+     */
+    private static boolean staysWithinLongitudeRange(double centerLat, double dLat, double centerLng, double dLng) {
+        return centerLat + dLat < 90 && centerLat - dLat > -90
+                && centerLng - dLng >= -180 && centerLng + dLng <= 180;
+    }
+
+    private static double haversine(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        return Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+    }
+
+    private static double latitude(double value, String name) {
+        if (value < -90 || value > 90) {
+            throw new IllegalArgumentException(name + " must be between -90 and 90");
+        }
+        return value;
+    }
+
+    private static double longitude(double value, String name) {
+        if (value < -180 || value > 180) {
+            throw new IllegalArgumentException(name + " must be between -180 and 180");
+        }
+        return value;
+    }
+}
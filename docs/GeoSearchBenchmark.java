@@ -0,0 +1,142 @@
+package com.realestate.benchmark;
+
+import com.realestate.dto.PropertySearchRequest;
+import com.realestate.model.ListingType;
+import com.realestate.model.Property;
+import com.realestate.model.PropertyType;
+import com.realestate.service.PropertySearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of geo queries on PropertySearchIndex alone (no database, no Spring context)
+ * Listings are clustered around eight city centers, like real inventory, so dense cells exist.
+ * - viewportPan: a ~11 km map viewport near a center with price and bedroom filters, 200 pins
+ * - radiusNearest: everything within 5 km of a point, nearest first, page of 20
+ * - zoomedOutViewport: a 4 x 4 degree viewport, which exceeds max-grid-cells and scans the columns
+ * SampleTime mode, so the p99 can be checked against the 10 ms target directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GeoSearchBenchmark {
+
+    private static final double[][] CENTERS = {
+            {18.5204, 73.8567}, {19.0760, 72.8777}, {12.9716, 77.5946}, {17.3850, 78.4867},
+            {13.0827, 80.2707}, {28.7041, 77.1025}, {22.5726, 88.3639}, {23.0225, 72.5714}
+    };
+    private static final int REQUESTS = 1024;
+
+    @Param({"1000000"})
+    public int listings;
+
+    @Param({"0.05"})
+    public double cellDegrees;
+
+    private PropertySearchIndex index;
+    private final List<PropertySearchRequest> viewports = new ArrayList<>();
+    private final List<PropertySearchRequest> radii = new ArrayList<>();
+    private final List<PropertySearchRequest> zoomedOut = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new PropertySearchIndex();
+        set(index, "enabled", true);
+        set(index, "cellDegrees", cellDegrees);
+        set(index, "maxGridCells", 4096);
+
+        Random random = new Random(42);
+        List<Property> properties = new ArrayList<>(listings);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < listings; i++) {
+            double[] center = CENTERS[random.nextInt(CENTERS.length)];
+            Property property = new Property();
+            property.setId((long) i + 1);
+            property.setPrice(BigDecimal.valueOf(1_000_000L + random.nextInt(50_000_000)));
+            property.setBedrooms(1 + random.nextInt(5));
+            property.setBathrooms(1 + random.nextInt(4));
+            property.setSquareFeet(400 + random.nextInt(3600));
+            property.setPropertyType(PropertyType.values()[random.nextInt(PropertyType.values().length)]);
+            property.setListingType(ListingType.values()[random.nextInt(ListingType.values().length)]);
+            property.setCreatedAt(now.minusMinutes(random.nextInt(500_000)));
+            // ~15 km spread around the city center
+            property.setLatitude(center[0] + random.nextGaussian() * 0.135);
+            property.setLongitude(center[1] + random.nextGaussian() * 0.135);
+            properties.add(property);
+        }
+        index.rebuild(properties);
+
+        for (int i = 0; i < REQUESTS; i++) {
+            double[] center = CENTERS[random.nextInt(CENTERS.length)];
+            double lat = center[0] + random.nextGaussian() * 0.1;
+            double lng = center[1] + random.nextGaussian() * 0.1;
+
+            viewports.add(PropertySearchRequest.builder()
+                    .minLatitude(lat - 0.05).maxLatitude(lat + 0.05)
+                    .minLongitude(lng - 0.05).maxLongitude(lng + 0.05)
+                    .minPrice(BigDecimal.valueOf(5_000_000)).maxPrice(BigDecimal.valueOf(30_000_000))
+                    .minBedrooms(2)
+                    .build());
+            radii.add(PropertySearchRequest.builder()
+                    .latitude(lat).longitude(lng).radiusKm(5.0)
+                    .build());
+            zoomedOut.add(PropertySearchRequest.builder()
+                    .minLatitude(lat - 2).maxLatitude(lat + 2)
+                    .minLongitude(lng - 2).maxLongitude(lng + 2)
+                    .minBedrooms(3)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void viewportPan(Blackhole bh) {
+        bh.consume(index.search(pick(viewports), "price", true, 0, 200));
+    }
+
+    @Benchmark
+    public void radiusNearest(Blackhole bh) {
+        bh.consume(index.search(pick(radii), PropertySearchIndex.DISTANCE_SORT, true, 0, 20));
+    }
+
+    @Benchmark
+    public void zoomedOutViewport(Blackhole bh) {
+        bh.consume(index.search(pick(zoomedOut), "createdAt", false, 0, 200));
+    }
+
+    private static PropertySearchRequest pick(List<PropertySearchRequest> requests) {
+        return requests.get(ThreadLocalRandom.current().nextInt(requests.size()));
+    }
+
+    private static void set(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GeoSearchBenchmark.class.getSimpleName() + (args.length > 0 ? "." + args[0] : ""))
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-geo-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,119 @@
+package com.realestate.benchmark;
+
+import com.realestate.RealEstateApplication;
+import com.realestate.dto.PropertySearchRequest;
+import com.realestate.service.PropertyKeywordIndex;
+import com.realestate.service.PropertyService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword search latency: the LIKE '%kw%' scan against PropertyKeywordIndex, at 100k and 1M listings
+ * Boots the application against H2 filled by BenchmarkDataGenerator (no images or favorites, so the
+ * keyword lookup dominates), then warms the index. Queries rotate over a single word, a prefix and
+ * two words.
+ * - likeSearch / fullTextSearch: searchProperties end to end (lookup, count and page hydration)
+ * - keywordIndexOnly: the index lookup without hydration
+ * SampleTime mode, so p50/p99 are read off the percentiles directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class KeywordSearchBenchmark {
+
+    private static final String[] KEYWORDS = {"garden", "terr", "lake view"};
+
+    @Param({"100000", "1000000"})
+    public int listings;
+
+    @Param({"20"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private PropertyService propertyService;
+    private PropertyKeywordIndex keywordIndex;
+    private PropertySearchRequest[] likeRequests;
+    private PropertySearchRequest[] fullTextRequests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(RealEstateApplication.class,
+                "--spring.profiles.active=benchmark",
+                "--spring.datasource.url=jdbc:h2:mem:keyword;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.main.web-application-type=none",
+                "--search.keyword-index.enabled=true",
+                "--logging.level.root=WARN");
+
+        propertyService = context.getBean(PropertyService.class);
+        keywordIndex = context.getBean(PropertyKeywordIndex.class);
+
+        new BenchmarkDataGenerator(context.getBean(EntityManager.class), context.getBean(TransactionTemplate.class))
+                .generate(listings, 0, 1, 0);
+        // The index warmed empty at startup, before the data existed
+        propertyService.warmSearchIndex();
+
+        likeRequests = new PropertySearchRequest[KEYWORDS.length];
+        fullTextRequests = new PropertySearchRequest[KEYWORDS.length];
+        for (int i = 0; i < KEYWORDS.length; i++) {
+            likeRequests[i] = request(KEYWORDS[i], PropertySearchRequest.SearchMode.LIKE);
+            fullTextRequests[i] = request(KEYWORDS[i], PropertySearchRequest.SearchMode.FULL_TEXT);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void likeSearch(Blackhole bh) {
+        bh.consume(propertyService.searchProperties(pick(likeRequests), null));
+    }
+
+    @Benchmark
+    public void fullTextSearch(Blackhole bh) {
+        bh.consume(propertyService.searchProperties(pick(fullTextRequests), null));
+    }
+
+    @Benchmark
+    public void keywordIndexOnly(Blackhole bh) {
+        bh.consume(keywordIndex.search(KEYWORDS[ThreadLocalRandom.current().nextInt(KEYWORDS.length)], 0, pageSize));
+    }
+
+    private PropertySearchRequest request(String keyword, PropertySearchRequest.SearchMode mode) {
+        PropertySearchRequest request = new PropertySearchRequest();
+        request.setKeyword(keyword);
+        request.setSearchMode(mode);
+        request.setSize(pageSize);
+        return request;
+    }
+
+    private static PropertySearchRequest pick(PropertySearchRequest[] requests) {
+        return requests[ThreadLocalRandom.current().nextInt(requests.length)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(KeywordSearchBenchmark.class.getSimpleName() + (args.length > 0 ? "." + args[0] : ""))
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-keyword-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
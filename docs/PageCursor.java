@@ -0,0 +1,104 @@
+package com.realestate.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque cursor for keyset pagination
+ * Encodes the (createdAt, id) of the last row of a page as URL-safe Base64,
+ * or, for the structured search, the (sort key, id) of the last row together with
+ * the sort it was produced under, so a cursor can't be replayed against another order.
+ */
+public final class PageCursor {
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+    private final String sortBy;
+    private final boolean ascending;
+    private final String sortValue;
+
+    private PageCursor(LocalDateTime createdAt, Long id, String sortBy, boolean ascending, String sortValue) {
+        this.createdAt = createdAt;
+        this.id = id;
+        this.sortBy = sortBy;
+        this.ascending = ascending;
+        this.sortValue = sortValue;
+    }
+
+    public static PageCursor seek(LocalDateTime createdAt, Long id) {
+        return new PageCursor(createdAt, id, null, false, null);
+    }
+
+    /**
+     * Search position after the row with this sort value (as SortKey.format wrote it) and id
+     */
+    public static PageCursor searchAfter(String sortBy, boolean ascending, String sortValue, Long id) {
+        return new PageCursor(null, id, sortBy, ascending, sortValue);
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getSortBy() {
+        return sortBy;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public String getSortValue() {
+        return sortValue;
+    }
+
+    /**
+     * (createdAt, id) cursor of the listing and favorites feeds
+     */
+    public boolean isSeek() {
+        return sortBy == null;
+    }
+
+    /**
+     * True if this is a search cursor produced under the given sort
+     */
+    public boolean isSearchAfter(String sortBy, boolean ascending) {
+        return sortBy.equals(this.sortBy) && ascending == this.ascending;
+    }
+
+    public String encode() {
+        String raw = isSeek()
+                ? "k:" + createdAt + "|" + id
+                : "s:" + sortBy + "|" + (ascending ? "ASC" : "DESC") + "|" + sortValue + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return decoded cursor, or null for a null/blank cursor (first page)
+     * @throws IllegalArgumentException if the cursor was not produced by encode()
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.startsWith("k:")) {
+                String[] parts = raw.substring(2).split("\\|");
+                return seek(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            }
+            if (raw.startsWith("s:")) {
+                String[] parts = raw.substring(2).split("\\|");
+                return searchAfter(parts[0], parts[1].equals("ASC"), parts[2], Long.parseLong(parts[3]));
+            }
+        } catch (RuntimeException e) {
+            // fall through to the error below
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+}
@@ -0,0 +1,160 @@
+package com.realestate.service;
+
+import com.realestate.config.RequestSqlRecorder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-request fan-out of independent lookups onto virtual threads
+ * Usage mirrors StructuredTaskScope.ShutdownOnFailure (still a preview API on Java 21):
+ * fork the subtasks, join once, and closing the scope cancels anything left running.
+ *
+ * Forked subtasks run outside the caller's transaction and each borrow their own pooled
+ * connection, so they are gated by a shared permit count kept well below the pool size.
+ * When no permit is free the subtask runs inline on the caller thread instead of waiting,
+ * which keeps callers that already hold a connection from deadlocking the pool.
+ * Subtasks must only touch ids and repositories, never lazy entity state. Lookups that are
+ * usually answered from memory go through forkOnMiss, so a cache hit never takes a permit.
+ */
+@Component
+public class ParallelLookups implements DisposableBean {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore jdbcPermits;
+    private final boolean enabled;
+    private final long timeoutMs;
+
+    private final LongAdder forked = new LongAdder();
+    private final LongAdder inlined = new LongAdder();
+
+    public ParallelLookups(@Value("${properties.fanout.enabled:false}") boolean enabled,
+                           @Value("${properties.fanout.jdbc-permits:4}") int jdbcPermits,
+                           @Value("${properties.fanout.timeout-ms:2000}") long timeoutMs) {
+        this.enabled = enabled;
+        this.jdbcPermits = new Semaphore(Math.max(1, jdbcPermits));
+        this.timeoutMs = timeoutMs;
+    }
+
+    public Scope open() {
+        return new Scope();
+    }
+
+    public long getForkedCount() {
+        return forked.sum();
+    }
+
+    public long getInlinedCount() {
+        return inlined.sum();
+    }
+
+    public int getAvailablePermits() {
+        return jdbcPermits.availablePermits();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * One request's worth of subtasks; not thread-safe, use from the owning thread only
+     */
+    public final class Scope implements AutoCloseable {
+
+        private final List<Future<?>> futures = new ArrayList<>();
+        private boolean joined;
+
+        public <T> Supplier<T> fork(Supplier<T> task) {
+            Future<T> future;
+            if (enabled && jdbcPermits.tryAcquire()) {
+                forked.increment();
+                // Keep the request's SQL recording bound so forked statements still count toward it
+                Supplier<T> bound = RequestSqlRecorder.wrap(task);
+                future = executor.submit(() -> {
+                    try {
+                        return bound.get();
+                    } finally {
+                        jdbcPermits.release();
+                    }
+                });
+            } else {
+                inlined.increment();
+                future = CompletableFuture.completedFuture(task.get());
+            }
+            futures.add(future);
+            return () -> result(future);
+        }
+
+        /**
+         * Use the in-memory answer when there is one (cached returns null on a miss) and fork
+         * only the load behind it
+         */
+        public <T> Supplier<T> forkOnMiss(Supplier<T> cached, Supplier<T> load) {
+            T value = cached.get();
+            return value != null ? () -> value : fork(load);
+        }
+
+        /**
+         * Wait for every subtask; the first failure cancels the rest and is rethrown
+         */
+        public void join() {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            try {
+                for (Future<?> future : futures) {
+                    future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+            } catch (ExecutionException e) {
+                cancelAll();
+                throw e.getCause() instanceof RuntimeException
+                        ? (RuntimeException) e.getCause()
+                        : new RuntimeException(e.getCause());
+            } catch (TimeoutException e) {
+                cancelAll();
+                throw new RuntimeException("Lookups did not finish within " + timeoutMs + " ms");
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while joining lookups");
+            }
+            joined = true;
+        }
+
+        private <T> T result(Future<T> future) {
+            if (!joined) {
+                throw new IllegalStateException("join() must be called before reading results");
+            }
+            try {
+                return future.get();
+            } catch (InterruptedException | ExecutionException e) {
+                // Unreachable once join() has returned normally
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void cancelAll() {
+            futures.forEach(f -> f.cancel(true));
+        }
+
+        @Override
+        public void close() {
+            if (!joined) {
+                cancelAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.realestate.controller;
+
+import com.realestate.dto.PropertySearchRequest;
+import com.realestate.service.GeoFilter;
+import com.realestate.service.PropertyExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST Controller for streaming exports (admin and agent dumps)
+ * Rows are written as they are read from the database; nothing is buffered in memory.
+ * Long exports need spring.mvc.async.request-timeout raised (or -1) in application.properties.
+ */
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class PropertyExportController {
+
+    @Autowired
+    private PropertyExportService propertyExportService;
+
+    /**
+     * Export properties matching the search filters
+     * GET /api/export/properties?format=CSV&city=Pune&listingType=SALE
+     */
+    @GetMapping("/properties")
+    public ResponseEntity<StreamingResponseBody> exportProperties(
+            @RequestParam(defaultValue = "NDJSON") PropertyExportService.Format format,
+            @ModelAttribute PropertySearchRequest request) {
+        // Keyword and geo filters are not streamed; reject them before the response is committed
+        // instead of exporting the whole filtered table
+        if (hasKeyword(request) || hasGeoFilter(request)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return stream("properties", format,
+                out -> propertyExportService.exportProperties(request, format, out));
+    }
+
+    /**
+     * Export a user's favorites
+     * GET /api/export/favorites/user/{userId}?format=NDJSON
+     */
+    @GetMapping("/favorites/user/{userId}")
+    public ResponseEntity<StreamingResponseBody> exportUserFavorites(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "NDJSON") PropertyExportService.Format format) {
+        return stream("favorites-" + userId, format,
+                out -> propertyExportService.exportUserFavorites(userId, format, out));
+    }
+
+    private static boolean hasKeyword(PropertySearchRequest request) {
+        return request.getKeyword() != null && !request.getKeyword().isEmpty();
+    }
+
+    private static boolean hasGeoFilter(PropertySearchRequest request) {
+        try {
+            return GeoFilter.from(request) != null;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, PropertyExportService.Format format,
+                                                         StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
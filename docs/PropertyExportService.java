@@ -0,0 +1,263 @@
+package com.realestate.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.realestate.dto.PropertySearchRequest;
+import com.realestate.model.Favorite;
+import com.realestate.model.Property;
+import com.realestate.repository.FavoriteRepository;
+import com.realestate.repository.PropertyRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streaming export of search results and favorites as NDJSON or CSV
+ * Rows come from a forward-only JPA stream and are written straight to the response,
+ * so memory stays flat regardless of result size. The persistence context is cleared
+ * every {@code properties.export.clear-interval} rows so managed entities never pile up.
+ */
+@Service
+public class PropertyExportService {
+
+    private static final String[] PROPERTY_COLUMNS = {
+            "id", "title", "price", "address", "city", "state", "zipCode", "propertyType",
+            "listingType", "bedrooms", "bathrooms", "squareFeet", "yearBuilt", "available",
+            "latitude", "longitude", "ownerId", "createdAt"
+    };
+
+    private static final String[] FAVORITE_COLUMNS = {
+            "favoriteId", "propertyId", "title", "price", "city", "state", "propertyType",
+            "listingType", "notes", "createdAt"
+    };
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    // No root value separator: the default writes a space before every object after the first,
+    // so each NDJSON line but the first would start with one
+    private final JsonFactory jsonFactory = new JsonFactoryBuilder().rootValueSeparator((String) null).build();
+
+    @Value("${properties.export.clear-interval:500}")
+    private int clearInterval;
+
+    /**
+     * Export every property matching the structured search filters, ordered by id
+     * The keyword and geo fields are not applied here; the controller rejects requests that set them
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportProperties(PropertySearchRequest request, Format format, OutputStream out) throws IOException {
+        try (Stream<Property> properties = propertyRepository.streamSearch(
+                request.getCity(),
+                request.getState(),
+                request.getPropertyType(),
+                request.getListingType(),
+                request.getMinPrice(),
+                request.getMaxPrice(),
+                request.getMinBedrooms(),
+                request.getMaxBedrooms(),
+                request.getMinBathrooms(),
+                request.getMaxBathrooms(),
+                request.getMinSquareFeet(),
+                request.getMaxSquareFeet())) {
+            return write(properties, PROPERTY_COLUMNS, this::propertyRow, format, out);
+        }
+    }
+
+    /**
+     * Export a user's favorites together with the listing they point at
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportUserFavorites(Long userId, Format format, OutputStream out) throws IOException {
+        try (Stream<Favorite> favorites = favoriteRepository.streamByUserId(userId)) {
+            return write(favorites, FAVORITE_COLUMNS, this::favoriteRow, format, out);
+        }
+    }
+
+    private <T> long write(Stream<T> rows, String[] columns, Function<T, Object[]> toRow,
+                           Format format, OutputStream out) throws IOException {
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out, columns) : new NdjsonRowWriter(out, columns);
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            writer.write(toRow.apply(iterator.next()));
+            if (++count % clearInterval == 0) {
+                writer.flush();
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private Object[] propertyRow(Property property) {
+        return new Object[] {
+                property.getId(),
+                property.getTitle(),
+                property.getPrice(),
+                property.getAddress(),
+                property.getCity(),
+                property.getState(),
+                property.getZipCode(),
+                text(property.getPropertyType()),
+                text(property.getListingType()),
+                property.getBedrooms(),
+                property.getBathrooms(),
+                property.getSquareFeet(),
+                property.getYearBuilt(),
+                property.getAvailable(),
+                property.getLatitude(),
+                property.getLongitude(),
+                // Reading the id of a lazy proxy does not initialise it
+                property.getOwner() != null ? property.getOwner().getId() : null,
+                text(property.getCreatedAt())
+        };
+    }
+
+    private Object[] favoriteRow(Favorite favorite) {
+        Property property = favorite.getProperty();
+        return new Object[] {
+                favorite.getId(),
+                property.getId(),
+                property.getTitle(),
+                property.getPrice(),
+                property.getCity(),
+                property.getState(),
+                text(property.getPropertyType()),
+                text(property.getListingType()),
+                favorite.getNotes(),
+                text(favorite.getCreatedAt())
+        };
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    // ====================== ROW WRITERS ======================
+
+    private interface RowWriter {
+        void write(Object[] row) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    /**
+     * One JSON object per line; values are String, Number, Boolean or null
+     */
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private final String[] columns;
+
+        NdjsonRowWriter(OutputStream out, String[] columns) throws IOException {
+            this.generator = jsonFactory.createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                generator.writeFieldName(columns[i]);
+                generator.writeObject(row[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row
+     * Text cells starting with = + - @ are prefixed with ' so spreadsheets do not evaluate them
+     */
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out, String[] columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(String.join(",", columns));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCell(row[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeCell(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String cell = value.toString();
+            if (value instanceof String && !cell.isEmpty() && "=+-@".indexOf(cell.charAt(0)) >= 0) {
+                cell = "'" + cell;
+            }
+            if (cell.indexOf(',') >= 0 || cell.indexOf('"') >= 0 || cell.indexOf('\n') >= 0 || cell.indexOf('\r') >= 0) {
+                cell = '"' + cell.replace("\"", "\"\"") + '"';
+            }
+            writer.write(cell);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
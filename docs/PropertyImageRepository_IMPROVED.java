@@ -0,0 +1,43 @@
+package com.realestate.repository;
+
+import com.realestate.model.PropertyImage;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
+/**
+ * Repository for PropertyImage entity
+ */
+@Repository
+public interface PropertyImageRepository extends JpaRepository<PropertyImage, Long> {
+
+    List<PropertyImage> findByPropertyId(Long propertyId);
+
+    /**
+     * Detail-view images; cached in the query cache and invalidated on any property_images write
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<PropertyImage> findByPropertyIdOrderByDisplayOrderAsc(Long propertyId);
+
+    /**
+     * Images for a batch of properties in one query, ordered for display
+     * Callers group the result by image.getProperty().getId()
+     */
+    List<PropertyImage> findByPropertyIdInOrderByDisplayOrderAsc(Collection<Long> propertyIds);
+
+    /**
+     * Bulk delete without loading entities (property cascade delete)
+     */
+    @Modifying
+    @Query("DELETE FROM PropertyImage pi WHERE pi.property.id IN :propertyIds")
+    int deleteAllByPropertyIdIn(@Param("propertyIds") Collection<Long> propertyIds);
+}
@@ -0,0 +1,46 @@
+package com.realestate.controller;
+
+import com.realestate.dto.ApiResponse;
+import com.realestate.service.PropertyImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * REST Controller for bulk property import (builder inventories)
+ * The request body is streamed straight into the importer; it is never buffered in memory
+ */
+@RestController
+@RequestMapping("/api/properties/import")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class PropertyImportController {
+
+    @Autowired
+    private PropertyImportService propertyImportService;
+
+    /**
+     * Import properties for an owner
+     * POST /api/properties/import?ownerId=1&format=CSV&batchSize=500
+     * Body: CSV with a header row, or NDJSON (one property object per line)
+     */
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson", "text/plain", "application/octet-stream"})
+    public ResponseEntity<ApiResponse<PropertyImportService.ImportReport>> importProperties(
+            @RequestParam Long ownerId,
+            @RequestParam(defaultValue = "CSV") PropertyImportService.Format format,
+            @RequestParam(required = false) Integer batchSize,
+            HttpServletRequest request) {
+        try {
+            PropertyImportService.ImportReport report = propertyImportService.importProperties(
+                    request.getInputStream(), format, ownerId, batchSize);
+            return ResponseEntity.ok(ApiResponse.success(report, "Imported " + report.getImported()
+                    + " properties, rejected " + report.getRejected()));
+        } catch (IOException | RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,416 @@
+package com.realestate.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.realestate.model.ListingType;
+import com.realestate.model.PropertyType;
+import com.realestate.repository.UserRepository;
+import lombok.Data;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming bulk import of properties from CSV or NDJSON
+ * Reads one line at a time, validates it, and writes valid rows in JDBC batches,
+ * each batch in its own transaction. Rejected rows go to an error file with the reason.
+ * A batch the database refuses (constraint or data errors) is retried row by row, so one bad
+ * row costs its own line in the error file rather than the whole batch or the import.
+ * With rewriteBatchedStatements=true on the MySQL JDBC URL, each batch is sent as a
+ * single multi-row INSERT (MySQL has no sequences, so ids stay AUTO_INCREMENT).
+ * Each committed batch is added to the in-memory indexes by its generated ids, so memory stays
+ * bounded by the batch size and an import that fails midway still indexes what it committed.
+ */
+@Service
+public class PropertyImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PropertyImportService.class);
+
+    private static final String[] COLUMNS = {
+            "title", "description", "price", "address", "city", "state", "zipCode",
+            "propertyType", "listingType", "bedrooms", "bathrooms", "squareFeet", "yearBuilt", "available",
+            "latitude", "longitude"
+    };
+
+    private static final String INSERT_SQL =
+            "INSERT INTO properties (title, description, price, address, city, state, zip_code, " +
+            "property_type, listing_type, bedrooms, bathrooms, square_feet, year_built, available, " +
+            "latitude, longitude, owner_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW())";
+
+    private static final PreparedStatementCreator INSERT_RETURNING_KEYS =
+            connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${properties.import.batch-size:500}")
+    private int defaultBatchSize;
+
+    /**
+     * A validated row waiting for its batch, with the source line kept for the error file
+     */
+    private record PendingRow(long lineNumber, String line, Object[] args) {
+    }
+
+    /**
+     * Summary returned to the caller once the stream is exhausted
+     */
+    @Data
+    public static class ImportReport {
+        private long imported;
+        private long rejected;
+        private int batches;
+        private long elapsedMs;
+        private double rowsPerSecond;
+        private String errorFile;
+    }
+
+    /**
+     * Import every row of the stream for the given owner
+     * @param batchSize rows per JDBC batch/transaction; null or <= 0 uses properties.import.batch-size
+     */
+    public ImportReport importProperties(InputStream input, Format format, Long ownerId, Integer batchSize)
+            throws IOException {
+        // Every row references the owner; fail fast instead of rejecting each batch on the foreign key
+        if (ownerId == null || !userRepository.existsById(ownerId)) {
+            throw new IllegalArgumentException("Owner not found with id: " + ownerId);
+        }
+        int size = batchSize != null && batchSize > 0 ? batchSize : defaultBatchSize;
+        ImportReport report = new ImportReport();
+        Path errorFile = null;
+        boolean completed = false;
+        long started = System.nanoTime();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String[] header = format == Format.CSV ? readHeader(reader) : COLUMNS;
+            errorFile = Files.createTempFile("property-import-errors-", ".txt");
+            try (BufferedWriter errors = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8)) {
+                importRows(reader, format, header, ownerId, size, report, errors);
+            }
+            completed = true;
+        } finally {
+            // The error file is only handed out with a finished report that has rejections
+            if (errorFile != null && (!completed || report.getRejected() == 0)) {
+                Files.deleteIfExists(errorFile);
+            }
+        }
+
+        report.setElapsedMs((System.nanoTime() - started) / 1_000_000);
+        report.setRowsPerSecond(report.getElapsedMs() > 0
+                ? report.getImported() * 1000.0 / report.getElapsedMs()
+                : report.getImported());
+        if (report.getRejected() > 0) {
+            report.setErrorFile(errorFile.toString());
+        }
+        return report;
+    }
+
+    private void importRows(BufferedReader reader, Format format, String[] header, Long ownerId, int size,
+                            ImportReport report, BufferedWriter errors) throws IOException {
+        List<PendingRow> batch = new ArrayList<>(size);
+        String line;
+        long lineNumber = format == Format.CSV ? 1 : 0;
+
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                Map<String, String> row = format == Format.CSV ? parseCsv(header, line) : parseJson(line);
+                batch.add(new PendingRow(lineNumber, line, toInsertArgs(row, ownerId)));
+            } catch (IllegalArgumentException e) {
+                reject(errors, report, lineNumber, e.getMessage(), line);
+            }
+
+            if (batch.size() >= size) {
+                writeBatch(batch, report, errors);
+            }
+        }
+        writeBatch(batch, report, errors);
+    }
+
+    private void writeBatch(List<PendingRow> batch, ImportReport report, BufferedWriter errors) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        List<Object[]> args = batch.stream().map(PendingRow::args).toList();
+        List<Long> committedIds;
+        try {
+            KeyHolder keys = new GeneratedKeyHolder();
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_RETURNING_KEYS, argumentSetter(args), keys));
+            report.setImported(report.getImported() + batch.size());
+            committedIds = generatedIds(keys);
+        } catch (DataAccessException e) {
+            // The batch rolled back as a whole; replay it one row per transaction to isolate the bad rows
+            log.warn("Property import batch {} failed ({}), retrying row by row",
+                    report.getBatches() + 1, e.getMostSpecificCause().getMessage());
+            committedIds = writeRowByRow(batch, report, errors);
+        }
+        // Rows bypassed createProperty, so add what this batch committed to the in-memory indexes
+        propertyService.indexProperties(committedIds);
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+
+        report.setBatches(report.getBatches() + 1);
+        log.info("Property import batch {}: {} rows in {} ms ({} rows/s)",
+                report.getBatches(), batch.size(), elapsedMs, batch.size() * 1000 / elapsedMs);
+        batch.clear();
+    }
+
+    private List<Long> writeRowByRow(List<PendingRow> batch, ImportReport report, BufferedWriter errors)
+            throws IOException {
+        List<Long> ids = new ArrayList<>();
+        for (PendingRow row : batch) {
+            try {
+                KeyHolder keys = new GeneratedKeyHolder();
+                BatchPreparedStatementSetter single = argumentSetter(List.<Object[]>of(row.args()));
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT_RETURNING_KEYS, single, keys));
+                report.setImported(report.getImported() + 1);
+                ids.addAll(generatedIds(keys));
+            } catch (DataAccessException e) {
+                reject(errors, report, row.lineNumber(), e.getMostSpecificCause().getMessage(), row.line());
+            }
+        }
+        return ids;
+    }
+
+    private static BatchPreparedStatementSetter argumentSetter(List<Object[]> args) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                new ArgumentPreparedStatementSetter(args.get(i)).setValues(ps);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return args.size();
+            }
+        };
+    }
+
+    /**
+     * One key per inserted row; MySQL names the column GENERATED_KEY, so take the single value
+     */
+    private static List<Long> generatedIds(KeyHolder keys) {
+        return keys.getKeyList().stream()
+                .map(row -> ((Number) row.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    private static void reject(BufferedWriter errors, ImportReport report, long lineNumber, String reason, String line)
+            throws IOException {
+        report.setRejected(report.getRejected() + 1);
+        errors.write(lineNumber + "\t" + reason + "\t" + line);
+        errors.newLine();
+    }
+
+    // ====================== PARSING & VALIDATION ======================
+
+    private String[] readHeader(BufferedReader reader) throws IOException {
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("CSV input is empty");
+        }
+        List<String> names = splitCsvLine(headerLine);
+        return names.stream().map(String::trim).toArray(String[]::new);
+    }
+
+    private Map<String, String> parseCsv(String[] header, String line) {
+        List<String> values = splitCsvLine(line);
+        if (values.size() != header.length) {
+            throw new IllegalArgumentException("Expected " + header.length + " columns but found " + values.size());
+        }
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            row.put(header[i], values.get(i).trim());
+        }
+        return row;
+    }
+
+    private Map<String, String> parseJson(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        Map<String, String> row = new HashMap<>();
+        for (String column : COLUMNS) {
+            JsonNode value = node.get(column);
+            if (value != null && !value.isNull()) {
+                row.put(column, value.asText());
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Split one CSV line (RFC 4180 quoting, "" escapes a quote); fields cannot span lines
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private Object[] toInsertArgs(Map<String, String> row, Long ownerId) {
+        String title = required(row, "title");
+        BigDecimal price = parseDecimal(row, "price", true);
+        if (price.signum() <= 0) {
+            throw new IllegalArgumentException("price must be positive");
+        }
+        Double latitude = parseCoordinate(row, "latitude", 90);
+        Double longitude = parseCoordinate(row, "longitude", 180);
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("latitude and longitude must be given together");
+        }
+
+        return new Object[]{
+                title,
+                row.get("description"),
+                price,
+                required(row, "address"),
+                required(row, "city"),
+                required(row, "state"),
+                row.get("zipCode"),
+                parseEnum(PropertyType.class, required(row, "propertyType")).name(),
+                parseEnum(ListingType.class, required(row, "listingType")).name(),
+                parseInteger(row, "bedrooms"),
+                parseInteger(row, "bathrooms"),
+                parseInteger(row, "squareFeet"),
+                parseInteger(row, "yearBuilt"),
+                !"false".equalsIgnoreCase(row.get("available")),
+                latitude,
+                longitude,
+                ownerId
+        };
+    }
+
+    private static String required(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        return value;
+    }
+
+    private static BigDecimal parseDecimal(Map<String, String> row, String column, boolean mandatory) {
+        String value = mandatory ? required(row, column) : row.get(column);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not a number: " + value);
+        }
+    }
+
+    private static Double parseCoordinate(Map<String, String> row, String column, double limit) {
+        BigDecimal value = parseDecimal(row, column, false);
+        if (value == null) {
+            return null;
+        }
+        double degrees = value.doubleValue();
+        if (degrees < -limit || degrees > limit) {
+            throw new IllegalArgumentException(column + " must be between " + (int) -limit + " and " + (int) limit);
+        }
+        return degrees;
+    }
+
+    private static Integer parseInteger(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 0) {
+                throw new IllegalArgumentException(column + " must not be negative");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " is not an integer: " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName() + ": " + value);
+        }
+    }
+}
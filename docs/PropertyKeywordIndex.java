@@ -0,0 +1,291 @@
+package com.realestate.service;
+
+import com.realestate.model.Property;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted full-text index over property title, description and address
+ * Replaces the LIKE '%kw%' scan of searchByKeyword for PropertySearchRequest.SearchMode.FULL_TEXT.
+ * Every query term is prefix-matched; all terms must match; hits are ranked with BM25.
+ * Like PropertySearchIndex, writes during a rebuild are held and re-applied on top of the snapshot.
+ */
+@Component
+public class PropertyKeywordIndex {
+
+    // Standard BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    @Value("${search.keyword-index.enabled:false}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean warm = false;
+
+    // term -> (propertyId -> term frequency); sorted so prefixes are a subMap range
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> termsByProperty = new HashMap<>();
+    private final Map<Long, Integer> docLengths = new HashMap<>();
+    private long totalLength = 0;
+
+    // Between beginRebuild() and rebuild(): latest put per ID, null for a remove (guarded by lock)
+    private boolean rebuilding = false;
+    private final Map<Long, Property> changedDuringRebuild = new HashMap<>();
+
+    /**
+     * Result of a keyword lookup: page of property IDs by descending score plus the total hit count
+     */
+    public static class KeywordPage {
+        private final List<Long> ids;
+        private final long totalElements;
+
+        KeywordPage(List<Long> ids, long totalElements) {
+            this.ids = ids;
+            this.totalElements = totalElements;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public long getTotalElements() {
+            return totalElements;
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && warm;
+    }
+
+    /**
+     * Start holding put/remove calls; call before reading the snapshot passed to rebuild()
+     */
+    public void beginRebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the held changes if the snapshot could not be loaded
+     */
+    public void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the whole index from a full property snapshot, then re-apply the changes
+     * held since beginRebuild()
+     */
+    public void rebuild(Collection<Property> properties) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByProperty.clear();
+            docLengths.clear();
+            totalLength = 0;
+            properties.forEach(this::putLocked);
+            changedDuringRebuild.forEach((id, property) -> {
+                removeLocked(id);
+                if (property != null) {
+                    putLocked(property);
+                }
+            });
+            changedDuringRebuild.clear();
+            rebuilding = false;
+            warm = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-tokenize a single property (called after create/update)
+     */
+    public void put(Property property) {
+        if (!enabled || property.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.put(property.getId(), property);
+            }
+            if (warm) {
+                removeLocked(property.getId());
+                putLocked(property);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a property from the index (called after delete)
+     */
+    public void remove(Long propertyId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.put(propertyId, null);
+            }
+            if (warm) {
+                removeLocked(propertyId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rank properties matching every term of the keyword and return one page
+     * @return page of IDs, or null if the index is not ready
+     */
+    public KeywordPage search(String keyword, int page, int size) {
+        if (!isReady()) {
+            return null;
+        }
+        List<String> queryTerms = tokenize(keyword);
+        if (queryTerms.isEmpty()) {
+            return new KeywordPage(new ArrayList<>(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            int docCount = docLengths.size();
+            double avgLength = docCount > 0 ? (double) totalLength / docCount : 0d;
+
+            Map<Long, Double> scores = null;
+            for (String term : new HashSet<>(queryTerms)) {
+                Map<Long, Double> termScores = new HashMap<>();
+                SortedMap<String, Map<Long, Integer>> expansions = postings.subMap(term, term + Character.MAX_VALUE);
+
+                for (Map<Long, Integer> posting : expansions.values()) {
+                    double idf = Math.log(1 + (docCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                    posting.forEach((propertyId, tf) -> {
+                        double norm = tf + K1 * (1 - B + B * docLengths.get(propertyId) / avgLength);
+                        termScores.merge(propertyId, idf * tf * (K1 + 1) / norm, Double::sum);
+                    });
+                }
+
+                // AND semantics: keep only properties that matched every term so far
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Double> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Double> entry : termScores.entrySet()) {
+                        Double prior = previous.get(entry.getKey());
+                        if (prior != null) {
+                            scores.put(entry.getKey(), prior + entry.getValue());
+                        }
+                    }
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((a, b) -> {
+                int cmp = Double.compare(b.getValue(), a.getValue());
+                return cmp != 0 ? cmp : Long.compare(b.getKey(), a.getKey());
+            });
+
+            List<Long> pageIds = new ArrayList<>();
+            long from = (long) page * size;
+            for (long i = from; i < Math.min(from + size, ranked.size()); i++) {
+                pageIds.add(ranked.get((int) i).getKey());
+            }
+            return new KeywordPage(pageIds, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ====================== INTERNALS ======================
+
+    private void putLocked(Property property) {
+        List<String> tokens = new ArrayList<>();
+        tokens.addAll(tokenize(property.getTitle()));
+        tokens.addAll(tokenize(property.getDescription()));
+        tokens.addAll(tokenize(property.getAddress()));
+
+        Long propertyId = property.getId();
+        Set<String> distinct = new HashSet<>();
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, t -> new HashMap<>()).merge(propertyId, 1, Integer::sum);
+            distinct.add(token);
+        }
+        termsByProperty.put(propertyId, distinct);
+        docLengths.put(propertyId, tokens.size());
+        totalLength += tokens.size();
+    }
+
+    private void removeLocked(Long propertyId) {
+        Set<String> terms = termsByProperty.remove(propertyId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(propertyId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        Integer length = docLengths.remove(propertyId);
+        totalLength -= length != null ? length : 0;
+    }
+
+    /**
+     * Lower-case and split on anything that is not a letter or digit
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,36 @@
+package com.realestate.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.realestate.model.Property;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A page of properties written as JSON straight from the entities by PropertyPageViewSerializer
+ * Same JSON as PageResponse<PropertyResponse>, but no PropertyResponse, OwnerSummary or per-row
+ * list is built: per-row values sit in arrays indexed like {@code properties}, and image URLs are
+ * flattened so row i owns imageUrls[imageOffsets[i]] up to imageUrls[imageOffsets[i + 1]].
+ * Entities (owner included) must be initialized before the view leaves the transaction.
+ */
+@Getter
+@AllArgsConstructor
+@JsonSerialize(using = PropertyPageViewSerializer.class)
+public class PropertyPageView {
+
+    private final List<Property> properties;
+    private final String[] imageUrls;
+    private final int[] imageOffsets;
+    private final long[] favoriteCounts;
+    private final boolean[] favorited;
+
+    private final int pageNumber;
+    private final int pageSize;
+    private final long totalElements;
+    private final int totalPages;
+    private final boolean first;
+    private final boolean last;
+    private final boolean hasNext;
+    private final boolean hasPrevious;
+}
@@ -0,0 +1,215 @@
+package com.realestate.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.realestate.model.Property;
+import com.realestate.model.User;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a PropertyPageView field by field to the JsonGenerator
+ * Field names are pre-encoded SerializedStrings, so nothing is reflected over or re-quoted per row.
+ * Dates and enums go through the provider's configured serializers so the output matches what
+ * Jackson writes for PageResponse<PropertyResponse> (nulls included, as with the default inclusion).
+ */
+public class PropertyPageViewSerializer extends StdSerializer<PropertyPageView> {
+
+    // PageResponse
+    private static final SerializedString CONTENT = new SerializedString("content");
+    private static final SerializedString PAGE_NUMBER = new SerializedString("pageNumber");
+    private static final SerializedString PAGE_SIZE = new SerializedString("pageSize");
+    private static final SerializedString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializedString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializedString FIRST = new SerializedString("first");
+    private static final SerializedString LAST = new SerializedString("last");
+    private static final SerializedString HAS_NEXT = new SerializedString("hasNext");
+    private static final SerializedString HAS_PREVIOUS = new SerializedString("hasPrevious");
+
+    // PropertyResponse
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString ADDRESS = new SerializedString("address");
+    private static final SerializedString CITY = new SerializedString("city");
+    private static final SerializedString STATE = new SerializedString("state");
+    private static final SerializedString ZIP_CODE = new SerializedString("zipCode");
+    private static final SerializedString PROPERTY_TYPE = new SerializedString("propertyType");
+    private static final SerializedString LISTING_TYPE = new SerializedString("listingType");
+    private static final SerializedString BEDROOMS = new SerializedString("bedrooms");
+    private static final SerializedString BATHROOMS = new SerializedString("bathrooms");
+    private static final SerializedString SQUARE_FEET = new SerializedString("squareFeet");
+    private static final SerializedString YEAR_BUILT = new SerializedString("yearBuilt");
+    private static final SerializedString LATITUDE = new SerializedString("latitude");
+    private static final SerializedString LONGITUDE = new SerializedString("longitude");
+    private static final SerializedString AVAILABLE = new SerializedString("available");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializedString OWNER = new SerializedString("owner");
+    private static final SerializedString IMAGE_URLS = new SerializedString("imageUrls");
+    private static final SerializedString FAVORITE_COUNT = new SerializedString("favoriteCount");
+    private static final SerializedString IS_FAVORITED = new SerializedString("isFavorited");
+
+    // PropertyResponse.OwnerSummary
+    private static final SerializedString FULL_NAME = new SerializedString("fullName");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString PHONE = new SerializedString("phone");
+    private static final SerializedString COMPANY = new SerializedString("company");
+    private static final SerializedString PROFILE_IMAGE_URL = new SerializedString("profileImageUrl");
+
+    public PropertyPageViewSerializer() {
+        super(PropertyPageView.class);
+    }
+
+    @Override
+    public void serialize(PropertyPageView view, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+
+        gen.writeFieldName(CONTENT);
+        List<Property> properties = view.getProperties();
+        gen.writeStartArray();
+        for (int row = 0; row < properties.size(); row++) {
+            writeProperty(view, row, properties.get(row), gen, provider);
+        }
+        gen.writeEndArray();
+
+        gen.writeFieldName(PAGE_NUMBER);
+        gen.writeNumber(view.getPageNumber());
+        gen.writeFieldName(PAGE_SIZE);
+        gen.writeNumber(view.getPageSize());
+        gen.writeFieldName(TOTAL_ELEMENTS);
+        gen.writeNumber(view.getTotalElements());
+        gen.writeFieldName(TOTAL_PAGES);
+        gen.writeNumber(view.getTotalPages());
+        gen.writeFieldName(FIRST);
+        gen.writeBoolean(view.isFirst());
+        gen.writeFieldName(LAST);
+        gen.writeBoolean(view.isLast());
+        gen.writeFieldName(HAS_NEXT);
+        gen.writeBoolean(view.isHasNext());
+        gen.writeFieldName(HAS_PREVIOUS);
+        gen.writeBoolean(view.isHasPrevious());
+
+        gen.writeEndObject();
+    }
+
+    private void writeProperty(PropertyPageView view, int row, Property property,
+                               JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+
+        gen.writeFieldName(ID);
+        writeNumber(gen, property.getId());
+        gen.writeFieldName(TITLE);
+        gen.writeString(property.getTitle());
+        gen.writeFieldName(DESCRIPTION);
+        gen.writeString(property.getDescription());
+        gen.writeFieldName(PRICE);
+        gen.writeNumber(property.getPrice());
+        gen.writeFieldName(ADDRESS);
+        gen.writeString(property.getAddress());
+        gen.writeFieldName(CITY);
+        gen.writeString(property.getCity());
+        gen.writeFieldName(STATE);
+        gen.writeString(property.getState());
+        gen.writeFieldName(ZIP_CODE);
+        gen.writeString(property.getZipCode());
+        gen.writeFieldName(PROPERTY_TYPE);
+        provider.defaultSerializeValue(property.getPropertyType(), gen);
+        gen.writeFieldName(LISTING_TYPE);
+        provider.defaultSerializeValue(property.getListingType(), gen);
+        gen.writeFieldName(BEDROOMS);
+        writeNumber(gen, property.getBedrooms());
+        gen.writeFieldName(BATHROOMS);
+        writeNumber(gen, property.getBathrooms());
+        gen.writeFieldName(SQUARE_FEET);
+        writeNumber(gen, property.getSquareFeet());
+        gen.writeFieldName(YEAR_BUILT);
+        writeNumber(gen, property.getYearBuilt());
+        gen.writeFieldName(LATITUDE);
+        writeNumber(gen, property.getLatitude());
+        gen.writeFieldName(LONGITUDE);
+        writeNumber(gen, property.getLongitude());
+        gen.writeFieldName(AVAILABLE);
+        writeBoolean(gen, property.getAvailable());
+        gen.writeFieldName(CREATED_AT);
+        provider.defaultSerializeValue(property.getCreatedAt(), gen);
+        gen.writeFieldName(UPDATED_AT);
+        provider.defaultSerializeValue(property.getUpdatedAt(), gen);
+
+        gen.writeFieldName(OWNER);
+        writeOwner(property.getOwner(), gen);
+
+        gen.writeFieldName(IMAGE_URLS);
+        String[] imageUrls = view.getImageUrls();
+        int[] offsets = view.getImageOffsets();
+        gen.writeStartArray();
+        for (int i = offsets[row]; i < offsets[row + 1]; i++) {
+            gen.writeString(imageUrls[i]);
+        }
+        gen.writeEndArray();
+
+        gen.writeFieldName(FAVORITE_COUNT);
+        gen.writeNumber(view.getFavoriteCounts()[row]);
+        gen.writeFieldName(IS_FAVORITED);
+        gen.writeBoolean(view.getFavorited()[row]);
+
+        gen.writeEndObject();
+    }
+
+    private static void writeOwner(User owner, JsonGenerator gen) throws IOException {
+        if (owner == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        gen.writeFieldName(ID);
+        writeNumber(gen, owner.getId());
+        gen.writeFieldName(FULL_NAME);
+        gen.writeString(owner.getFullName());
+        gen.writeFieldName(EMAIL);
+        gen.writeString(owner.getEmail());
+        gen.writeFieldName(PHONE);
+        gen.writeString(owner.getPhone());
+        gen.writeFieldName(COMPANY);
+        gen.writeString(owner.getCompany());
+        gen.writeFieldName(PROFILE_IMAGE_URL);
+        gen.writeString(owner.getProfileImageUrl());
+        gen.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator gen, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.longValue());
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, Integer value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.intValue());
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, Double value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.doubleValue());
+        }
+    }
+
+    private static void writeBoolean(JsonGenerator gen, Boolean value) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(value);
+        }
+    }
+}
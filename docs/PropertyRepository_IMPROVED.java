@@ -0,0 +1,280 @@
+package com.realestate.repository;
+
+import com.realestate.dto.PropertyVersionRow;
+import com.realestate.model.ListingType;
+import com.realestate.model.Property;
+import com.realestate.model.PropertyType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+/**
+ * Repository for Property entity
+ * Keyset ("seek") queries return plain lists ordered by (createdAt DESC, id DESC)
+ * so cursor pages never run a COUNT(*) and cost the same at any depth
+ */
+@Repository
+public interface PropertyRepository extends JpaRepository<Property, Long>, PropertySearchSeekRepository {
+
+    /**
+     * Structured search filters shared by the paged, seek, streaming and geo variants
+     */
+    String SEARCH_FILTERS =
+            "(:city IS NULL OR LOWER(p.city) = LOWER(:city)) AND " +
+            "(:state IS NULL OR LOWER(p.state) = LOWER(:state)) AND " +
+            "(:propertyType IS NULL OR p.propertyType = :propertyType) AND " +
+            "(:listingType IS NULL OR p.listingType = :listingType) AND " +
+            "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+            "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+            "(:minBedrooms IS NULL OR p.bedrooms >= :minBedrooms) AND " +
+            "(:maxBedrooms IS NULL OR p.bedrooms <= :maxBedrooms) AND " +
+            "(:minBathrooms IS NULL OR p.bathrooms >= :minBathrooms) AND " +
+            "(:maxBathrooms IS NULL OR p.bathrooms <= :maxBathrooms) AND " +
+            "(:minSquareFeet IS NULL OR p.squareFeet >= :minSquareFeet) AND " +
+            "(:maxSquareFeet IS NULL OR p.squareFeet <= :maxSquareFeet)";
+
+    String SEARCH_QUERY = "SELECT p FROM Property p WHERE " + SEARCH_FILTERS;
+
+    /**
+     * Haversine distance in km from (:centerLatitude, :centerLongitude), same formula as GeoFilter
+     */
+    String DISTANCE_KM = "(2 * 6371.0088 * asin(sqrt(" +
+            "power(sin(radians(p.latitude - :centerLatitude) / 2), 2) + " +
+            "cos(radians(:centerLatitude)) * cos(radians(p.latitude)) * " +
+            "power(sin(radians(p.longitude - :centerLongitude) / 2), 2))))";
+
+    /**
+     * Search filters plus a bounding box, which the (latitude, longitude) index can range-scan,
+     * and an optional exact radius check on the rows inside the box
+     */
+    String GEO_FILTERS = SEARCH_FILTERS + " AND " +
+            "p.latitude BETWEEN :minLatitude AND :maxLatitude AND " +
+            "p.longitude BETWEEN :minLongitude AND :maxLongitude AND " +
+            "(:radiusKm IS NULL OR " + DISTANCE_KM + " <= :radiusKm)";
+
+    List<Property> findByAvailableTrue();
+
+    Page<Property> findByAvailableTrue(Pageable pageable);
+
+    /**
+     * Same page as findByAvailableTrue(Pageable), but only the columns its ETag depends on
+     */
+    @Query(value = "SELECT new com.realestate.dto.PropertyVersionRow(" +
+                   "p.id, p.updatedAt, o.updatedAt, p.favoriteCount) " +
+                   "FROM Property p LEFT JOIN p.owner o WHERE p.available = true",
+           countQuery = "SELECT COUNT(p) FROM Property p WHERE p.available = true")
+    Page<PropertyVersionRow> findVersionRowsByAvailableTrue(Pageable pageable);
+
+    /**
+     * The columns the property detail ETag depends on, without loading the entity or its owner
+     */
+    @Query("SELECT new com.realestate.dto.PropertyVersionRow(p.id, p.updatedAt, o.updatedAt, p.favoriteCount) " +
+           "FROM Property p LEFT JOIN p.owner o WHERE p.id = :id")
+    Optional<PropertyVersionRow> findVersionRowById(@Param("id") Long id);
+
+    List<Property> findByCity(String city);
+
+    List<Property> findByPropertyType(PropertyType propertyType);
+
+    List<Property> findByListingType(ListingType listingType);
+
+    List<Property> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
+
+    List<Property> findByOwnerId(Long ownerId);
+
+    Page<Property> findByOwnerId(Long ownerId, Pageable pageable);
+
+    long countByOwnerId(Long ownerId);
+
+    @Query("SELECT p FROM Property p WHERE " +
+           "LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(p.address) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<Property> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query(SEARCH_QUERY)
+    Page<Property> searchProperties(@Param("city") String city,
+                                    @Param("state") String state,
+                                    @Param("propertyType") PropertyType propertyType,
+                                    @Param("listingType") ListingType listingType,
+                                    @Param("minPrice") BigDecimal minPrice,
+                                    @Param("maxPrice") BigDecimal maxPrice,
+                                    @Param("minBedrooms") Integer minBedrooms,
+                                    @Param("maxBedrooms") Integer maxBedrooms,
+                                    @Param("minBathrooms") Integer minBathrooms,
+                                    @Param("maxBathrooms") Integer maxBathrooms,
+                                    @Param("minSquareFeet") Integer minSquareFeet,
+                                    @Param("maxSquareFeet") Integer maxSquareFeet,
+                                    Pageable pageable);
+
+    /**
+     * Forward-only stream over the search filters for exports
+     * Needs useCursorFetch=true on the MySQL JDBC URL so the fetch size is honoured;
+     * must be consumed inside a read-only transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SEARCH_QUERY + " ORDER BY p.id")
+    Stream<Property> streamSearch(@Param("city") String city,
+                                  @Param("state") String state,
+                                  @Param("propertyType") PropertyType propertyType,
+                                  @Param("listingType") ListingType listingType,
+                                  @Param("minPrice") BigDecimal minPrice,
+                                  @Param("maxPrice") BigDecimal maxPrice,
+                                  @Param("minBedrooms") Integer minBedrooms,
+                                  @Param("maxBedrooms") Integer maxBedrooms,
+                                  @Param("minBathrooms") Integer minBathrooms,
+                                  @Param("maxBathrooms") Integer maxBathrooms,
+                                  @Param("minSquareFeet") Integer minSquareFeet,
+                                  @Param("maxSquareFeet") Integer maxSquareFeet);
+
+    /**
+     * Geo search used while PropertySearchIndex is cold; center and radius may be null
+     */
+    @Query(value = "SELECT p FROM Property p WHERE " + GEO_FILTERS,
+           countQuery = "SELECT COUNT(p) FROM Property p WHERE " + GEO_FILTERS)
+    Page<Property> searchWithinBounds(@Param("city") String city,
+                                      @Param("state") String state,
+                                      @Param("propertyType") PropertyType propertyType,
+                                      @Param("listingType") ListingType listingType,
+                                      @Param("minPrice") BigDecimal minPrice,
+                                      @Param("maxPrice") BigDecimal maxPrice,
+                                      @Param("minBedrooms") Integer minBedrooms,
+                                      @Param("maxBedrooms") Integer maxBedrooms,
+                                      @Param("minBathrooms") Integer minBathrooms,
+                                      @Param("maxBathrooms") Integer maxBathrooms,
+                                      @Param("minSquareFeet") Integer minSquareFeet,
+                                      @Param("maxSquareFeet") Integer maxSquareFeet,
+                                      @Param("minLatitude") Double minLatitude,
+                                      @Param("maxLatitude") Double maxLatitude,
+                                      @Param("minLongitude") Double minLongitude,
+                                      @Param("maxLongitude") Double maxLongitude,
+                                      @Param("centerLatitude") Double centerLatitude,
+                                      @Param("centerLongitude") Double centerLongitude,
+                                      @Param("radiusKm") Double radiusKm,
+                                      Pageable pageable);
+
+    /**
+     * Same as searchWithinBounds, nearest first (ties on id); pass an unsorted Pageable
+     */
+    @Query(value = "SELECT p FROM Property p WHERE " + GEO_FILTERS + " ORDER BY " + DISTANCE_KM + ", p.id",
+           countQuery = "SELECT COUNT(p) FROM Property p WHERE " + GEO_FILTERS)
+    Page<Property> searchWithinBoundsByDistance(@Param("city") String city,
+                                                @Param("state") String state,
+                                                @Param("propertyType") PropertyType propertyType,
+                                                @Param("listingType") ListingType listingType,
+                                                @Param("minPrice") BigDecimal minPrice,
+                                                @Param("maxPrice") BigDecimal maxPrice,
+                                                @Param("minBedrooms") Integer minBedrooms,
+                                                @Param("maxBedrooms") Integer maxBedrooms,
+                                                @Param("minBathrooms") Integer minBathrooms,
+                                                @Param("maxBathrooms") Integer maxBathrooms,
+                                                @Param("minSquareFeet") Integer minSquareFeet,
+                                                @Param("maxSquareFeet") Integer maxSquareFeet,
+                                                @Param("minLatitude") Double minLatitude,
+                                                @Param("maxLatitude") Double maxLatitude,
+                                                @Param("minLongitude") Double minLongitude,
+                                                @Param("maxLongitude") Double maxLongitude,
+                                                @Param("centerLatitude") Double centerLatitude,
+                                                @Param("centerLongitude") Double centerLongitude,
+                                                @Param("radiusKm") Double radiusKm,
+                                                Pageable pageable);
+
+    @Query("SELECT p FROM Property p ORDER BY p.createdAt DESC")
+    List<Property> findRecentProperties(Pageable pageable);
+
+    /**
+     * Local stand-in for the recommendation service: available listings in the same city and
+     * listing type, optionally the same property type and price band, closest price first
+     */
+    @Query("SELECT p FROM Property p WHERE p.available = true AND p.id <> :excludeId " +
+           "AND p.city = :city AND p.listingType = :listingType " +
+           "AND (:propertyType IS NULL OR p.propertyType = :propertyType) " +
+           "AND (:minPrice IS NULL OR p.price BETWEEN :minPrice AND :maxPrice) " +
+           "ORDER BY ABS(p.price - :price) ASC, p.id DESC")
+    List<Property> findSimilar(@Param("excludeId") Long excludeId,
+                               @Param("city") String city,
+                               @Param("listingType") ListingType listingType,
+                               @Param("propertyType") PropertyType propertyType,
+                               @Param("minPrice") BigDecimal minPrice,
+                               @Param("maxPrice") BigDecimal maxPrice,
+                               @Param("price") BigDecimal price,
+                               Pageable limit);
+
+    @Query("SELECT DISTINCT p.city FROM Property p ORDER BY p.city")
+    List<String> findAllCities();
+
+    @Query("SELECT DISTINCT p.state FROM Property p ORDER BY p.state")
+    List<String> findAllStates();
+
+    @Query("SELECT COUNT(p) FROM Property p WHERE p.available = true")
+    Long countAvailable();
+
+    @Query("SELECT AVG(p.price) FROM Property p WHERE p.city = :city")
+    BigDecimal getAveragePriceByCity(@Param("city") String city);
+
+    /**
+     * Denormalized favorite count (maintained by FavoriteCountAggregator)
+     */
+    @Query("SELECT p.favoriteCount FROM Property p WHERE p.id = :id")
+    Long findFavoriteCountById(@Param("id") Long id);
+
+    /**
+     * Move updatedAt alone, without loading the entity or writing back any other column
+     */
+    @Modifying
+    @Query("UPDATE Property p SET p.updatedAt = :now WHERE p.id = :id")
+    int touchUpdatedAt(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Bulk delete without loading entities; child rows must be deleted first
+     */
+    @Modifying
+    @Query("DELETE FROM Property p WHERE p.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ====================== KEYSET PAGINATION ======================
+
+    /**
+     * First cursor page of available properties (pass PageRequest.of(0, limit) as the limit)
+     */
+    @Query("SELECT p FROM Property p WHERE p.available = true " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Property> findAvailableFirstPage(Pageable limit);
+
+    /**
+     * Available properties strictly after the (createdAt, id) cursor
+     */
+    @Query("SELECT p FROM Property p WHERE p.available = true AND " +
+           "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Property> findAvailableAfter(@Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable limit);
+
+    @Query("SELECT p FROM Property p WHERE p.owner.id = :ownerId " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Property> findByOwnerFirstPage(@Param("ownerId") Long ownerId, Pageable limit);
+
+    @Query("SELECT p FROM Property p WHERE p.owner.id = :ownerId AND " +
+           "(p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Property> findByOwnerAfter(@Param("ownerId") Long ownerId,
+                                    @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id,
+                                    Pageable limit);
+}
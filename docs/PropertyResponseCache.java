@@ -0,0 +1,280 @@
+package com.realestate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.realestate.dto.PropertyResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two-tier cache for the user-independent part of PropertyResponse (detail views)
+ * Tier 1: on-heap LRU of response objects for the hot listings.
+ * Tier 2 (optional): entries evicted from tier 1 are kept as JSON off-heap, bounded by total
+ * bytes, and promoted back on a hit. The bytes live in fixed-size blocks of a few direct slabs
+ * allocated once, so demotion never pays for a fresh direct buffer.
+ * Each entry records the version it was loaded at. A property's version is its entry's version
+ * while cached, and a shared generation otherwise; bumpVersion() from update, image changes and
+ * delete (and evictOwner() from owner profile edits) removes the entries and advances the
+ * generation, so a load that started before the change can't be cached. No version state outlives
+ * the entries. favoriteCount and isFavorited are never cached here - PropertyService layers them
+ * on per request.
+ */
+@Component
+public class PropertyResponseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PropertyResponseCache.class);
+
+    // Slabs are allocated lazily, one at a time, as blocks are first handed out
+    private static final int SLAB_BYTES = 64 * 1024 * 1024;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LinkedHashMap<Long, Entry<PropertyResponse>> heap;
+    private final LinkedHashMap<Long, Entry<Serialized>> offHeap;
+
+    // Version of every property not cached in either tier; guarded by this
+    private long generation = 0;
+
+    private final int blockBytes;
+    private final int blocksPerSlab;
+    private final ByteBuffer[] slabs;
+    private final int[] freeBlocks;
+    private int freeCount;
+
+    private final LongAdder heapHits = new LongAdder();
+    private final LongAdder offHeapHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private static class Entry<V> {
+        final long version;
+        final Long ownerId;
+        final V value;
+
+        Entry(long version, Long ownerId, V value) {
+            this.version = version;
+            this.ownerId = ownerId;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Serialized response spread over slab blocks (the last one partly filled)
+     */
+    private static class Serialized {
+        final int[] blocks;
+        final int length;
+
+        Serialized(int[] blocks, int length) {
+            this.blocks = blocks;
+            this.length = length;
+        }
+    }
+
+    public PropertyResponseCache(@Value("${properties.detail-cache.heap-entries:2000}") int heapEntries,
+                                 @Value("${properties.detail-cache.off-heap-mb:0}") int offHeapMb,
+                                 @Value("${properties.detail-cache.off-heap-block-kb:4}") int blockKb) {
+        this.blockBytes = blockKb * 1024;
+        this.blocksPerSlab = Math.max(1, SLAB_BYTES / blockBytes);
+        int blocks = (int) Math.min(Integer.MAX_VALUE, offHeapMb * 1024L * 1024L / blockBytes);
+        this.slabs = new ByteBuffer[(blocks + blocksPerSlab - 1) / blocksPerSlab];
+        // Highest index on top of the stack is handed out last, so slabs fill (and get allocated) in order
+        this.freeBlocks = new int[blocks];
+        for (int i = 0; i < blocks; i++) {
+            freeBlocks[i] = blocks - 1 - i;
+        }
+        this.freeCount = blocks;
+
+        this.offHeap = new LinkedHashMap<>(16, 0.75f, true);
+        this.heap = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry<PropertyResponse>> eldest) {
+                if (size() > heapEntries) {
+                    demote(eldest.getKey(), eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Version to read before loading, and to pass to put() afterwards
+     */
+    public synchronized long currentVersion(Long propertyId) {
+        Entry<PropertyResponse> onHeap = heap.get(propertyId);
+        if (onHeap != null) {
+            return onHeap.version;
+        }
+        Entry<Serialized> serialized = offHeap.get(propertyId);
+        return serialized != null ? serialized.version : generation;
+    }
+
+    /**
+     * Invalidate every cached entry of the property once the current transaction commits
+     */
+    public void bumpVersion(Long propertyId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                generation++;
+                heap.remove(propertyId);
+                removeOffHeap(propertyId);
+            }
+        });
+    }
+
+    /**
+     * Invalidate every cached listing of an owner once the current transaction commits
+     * (the responses embed the owner's name, contact details and picture)
+     */
+    public void evictOwner(Long ownerId) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                generation++;
+                heap.values().removeIf(entry -> Objects.equals(entry.ownerId, ownerId));
+                var it = offHeap.values().iterator();
+                while (it.hasNext()) {
+                    Entry<Serialized> entry = it.next();
+                    if (Objects.equals(entry.ownerId, ownerId)) {
+                        release(entry.value);
+                        it.remove();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the shared (user-agnostic) response, or null on a miss or stale version
+     */
+    public synchronized PropertyResponse get(Long propertyId, long version) {
+        Entry<PropertyResponse> onHeap = heap.get(propertyId);
+        if (onHeap != null && onHeap.version == version) {
+            heapHits.increment();
+            return onHeap.value;
+        }
+
+        Entry<Serialized> serialized = offHeap.get(propertyId);
+        if (serialized != null && serialized.version == version) {
+            PropertyResponse response = deserialize(serialized.value);
+            removeOffHeap(propertyId);
+            if (response != null) {
+                offHeapHits.increment();
+                heap.put(propertyId, new Entry<>(version, serialized.ownerId, response));
+                return response;
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Cache a freshly built shared response; ignored if the property changed meanwhile
+     */
+    public synchronized void put(Long propertyId, long version, PropertyResponse response) {
+        if (version != currentVersion(propertyId)) {
+            return;
+        }
+        Long ownerId = response.getOwner() != null ? response.getOwner().getId() : null;
+        heap.put(propertyId, new Entry<>(version, ownerId, response));
+    }
+
+    public long getHeapHits() {
+        return heapHits.sum();
+    }
+
+    public long getOffHeapHits() {
+        return offHeapHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // ====================== OFF-HEAP TIER ======================
+
+    private void demote(Long propertyId, Entry<PropertyResponse> entry) {
+        if (freeBlocks.length == 0) {
+            return;
+        }
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(entry.value);
+        } catch (IOException e) {
+            log.warn("Could not serialize property {} for the off-heap tier", propertyId, e);
+            return;
+        }
+        int needed = (bytes.length + blockBytes - 1) / blockBytes;
+        if (needed > freeBlocks.length) {
+            return;
+        }
+
+        removeOffHeap(propertyId);
+        // Evict least recently used serialized entries until enough blocks are free
+        var it = offHeap.values().iterator();
+        while (freeCount < needed && it.hasNext()) {
+            release(it.next().value);
+            it.remove();
+        }
+
+        int[] blocks = new int[needed];
+        for (int i = 0; i < needed; i++) {
+            int block = freeBlocks[--freeCount];
+            int from = i * blockBytes;
+            slab(block).put(offset(block), bytes, from, Math.min(blockBytes, bytes.length - from));
+            blocks[i] = block;
+        }
+        offHeap.put(propertyId, new Entry<>(entry.version, entry.ownerId, new Serialized(blocks, bytes.length)));
+    }
+
+    private void removeOffHeap(Long propertyId) {
+        Entry<Serialized> removed = offHeap.remove(propertyId);
+        if (removed != null) {
+            release(removed.value);
+        }
+    }
+
+    private void release(Serialized serialized) {
+        for (int block : serialized.blocks) {
+            freeBlocks[freeCount++] = block;
+        }
+    }
+
+    private ByteBuffer slab(int block) {
+        int index = block / blocksPerSlab;
+        if (slabs[index] == null) {
+            int blocks = Math.min(blocksPerSlab, freeBlocks.length - index * blocksPerSlab);
+            slabs[index] = ByteBuffer.allocateDirect(blocks * blockBytes);
+        }
+        return slabs[index];
+    }
+
+    private int offset(int block) {
+        return (block % blocksPerSlab) * blockBytes;
+    }
+
+    private PropertyResponse deserialize(Serialized serialized) {
+        byte[] bytes = new byte[serialized.length];
+        for (int i = 0; i < serialized.blocks.length; i++) {
+            int block = serialized.blocks[i];
+            int from = i * blockBytes;
+            slab(block).get(offset(block), bytes, from, Math.min(blockBytes, bytes.length - from));
+        }
+        try {
+            return objectMapper.readValue(bytes, PropertyResponse.class);
+        } catch (IOException e) {
+            log.warn("Dropping unreadable off-heap entry", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,608 @@
+package com.realestate.service;
+
+import com.realestate.dto.PropertySearchRequest;
+import com.realestate.model.ListingType;
+import com.realestate.model.Property;
+import com.realestate.model.PropertyType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory faceted index over properties
+ * Numeric fields are kept in primitive column arrays, city/state/type/listing type as bitmap postings.
+ * Answers PropertySearchRequest filters plus sort and page, returning only the property IDs of the page.
+ * Coordinates are also bucketed into a uniform lat/lng grid, so a radius or viewport query only
+ * visits the listings in the cells it overlaps instead of scanning every slot.
+ * While cold (not yet built) or disabled, callers fall back to the repository query.
+ * Writes that commit while a rebuild loads its snapshot are held and re-applied on top of it,
+ * so a snapshot taken just before the write cannot overwrite it.
+ */
+@Component
+public class PropertySearchIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    public static final String DISTANCE_SORT = "distance";
+
+    @Value("${search.index.enabled:false}")
+    private boolean enabled;
+
+    // Grid cell edge in degrees (0.05 is about 5.5 km north-south)
+    @Value("${search.geo.cell-degrees:0.05}")
+    private double cellDegrees;
+
+    // Larger (zoomed-out) geo queries scan the coordinate columns instead of looking up cells
+    @Value("${search.geo.max-grid-cells:4096}")
+    private int maxGridCells;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean warm = false;
+
+    // Column storage, one slot per indexed property
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private int[] bedrooms = new int[INITIAL_CAPACITY];
+    private double[] bathrooms = new double[INITIAL_CAPACITY];
+    private int[] squareFeet = new int[INITIAL_CAPACITY];
+    private long[] createdAt = new long[INITIAL_CAPACITY];
+    private double[] latitudes = new double[INITIAL_CAPACITY];
+    private double[] longitudes = new double[INITIAL_CAPACITY];
+    private int slotCount = 0;
+
+    private final BitSet live = new BitSet();
+
+    // Slots whose value is null: stored as 0 in the column, excluded whenever that range is filtered,
+    // as SQL's p.bedrooms <= :max never matches NULL
+    private final BitSet nullPrices = new BitSet();
+    private final BitSet nullBedrooms = new BitSet();
+    private final BitSet nullBathrooms = new BitSet();
+    private final BitSet nullSquareFeet = new BitSet();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final List<Integer> freeSlots = new ArrayList<>();
+
+    // Bitmap postings (keys lower-cased for city/state)
+    private final Map<String, BitSet> cityPostings = new HashMap<>();
+    private final Map<String, BitSet> statePostings = new HashMap<>();
+    private final Map<PropertyType, BitSet> propertyTypePostings = new HashMap<>();
+    private final Map<ListingType, BitSet> listingTypePostings = new HashMap<>();
+
+    // Grid cells keyed by (latitude index, longitude index); properties without coordinates are not in it
+    private final Map<Long, GridCell> grid = new HashMap<>();
+
+    // Between beginRebuild() and rebuild(): latest put per ID, null for a remove (guarded by lock)
+    private boolean rebuilding = false;
+    private final Map<Long, Property> changedDuringRebuild = new HashMap<>();
+
+    /**
+     * Result of an index lookup: page of property IDs in sort order plus the total match count
+     */
+    public static class IndexPage {
+        private final List<Long> ids;
+        private final long totalElements;
+
+        IndexPage(List<Long> ids, long totalElements) {
+            this.ids = ids;
+            this.totalElements = totalElements;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public long getTotalElements() {
+            return totalElements;
+        }
+    }
+
+    public boolean isReady() {
+        return enabled && warm;
+    }
+
+    /**
+     * Start holding put/remove calls; call before reading the snapshot passed to rebuild()
+     */
+    public void beginRebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the held changes if the snapshot could not be loaded
+     */
+    public void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild the whole index from a full property snapshot, then re-apply the changes
+     * held since beginRebuild()
+     */
+    public void rebuild(Collection<Property> properties) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            slotCount = 0;
+            live.clear();
+            nullPrices.clear();
+            nullBedrooms.clear();
+            nullBathrooms.clear();
+            nullSquareFeet.clear();
+            slotById.clear();
+            freeSlots.clear();
+            cityPostings.clear();
+            statePostings.clear();
+            propertyTypePostings.clear();
+            listingTypePostings.clear();
+            grid.clear();
+            properties.forEach(this::putLocked);
+            changedDuringRebuild.forEach((id, property) -> {
+                removeLocked(id);
+                if (property != null) {
+                    putLocked(property);
+                }
+            });
+            changedDuringRebuild.clear();
+            rebuilding = false;
+            warm = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Insert or replace a single property (called after create/update)
+     */
+    public void put(Property property) {
+        if (!enabled || property.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.put(property.getId(), property);
+            }
+            if (warm) {
+                removeLocked(property.getId());
+                putLocked(property);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a property from the index (called after delete)
+     */
+    public void remove(Long propertyId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.put(propertyId, null);
+            }
+            if (warm) {
+                removeLocked(propertyId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Run the structured and geo filters of a search request against the index
+     * @return page of IDs, or null if the sort field is not indexed (caller falls back to the repository)
+     * @throws IllegalArgumentException if the geo parameters are malformed
+     */
+    public IndexPage search(PropertySearchRequest request, String sortBy, boolean ascending, int page, int size) {
+        GeoFilter geo = GeoFilter.from(request);
+        boolean distanceSort = DISTANCE_SORT.equals(sortBy);
+        if (!isReady() || (distanceSort ? geo == null || !geo.hasCenter() : !isSortable(sortBy))) {
+            return null;
+        }
+        // Distance always pages nearest first
+        ascending = ascending || distanceSort;
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) live.clone();
+            andPosting(matches, cityPostings, lowerOrNull(request.getCity()));
+            andPosting(matches, statePostings, lowerOrNull(request.getState()));
+            andPosting(matches, propertyTypePostings, request.getPropertyType());
+            andPosting(matches, listingTypePostings, request.getListingType());
+            if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+                matches.andNot(nullPrices);
+            }
+            if (request.getMinBedrooms() != null || request.getMaxBedrooms() != null) {
+                matches.andNot(nullBedrooms);
+            }
+            if (request.getMinBathrooms() != null || request.getMaxBathrooms() != null) {
+                matches.andNot(nullBathrooms);
+            }
+            if (request.getMinSquareFeet() != null || request.getMaxSquareFeet() != null) {
+                matches.andNot(nullSquareFeet);
+            }
+
+            Ranges ranges = new Ranges(request);
+            List<GridCell> cells = geo != null ? coveringCells(geo) : null;
+
+            int[] hits;
+            int hitCount = 0;
+            if (cells != null) {
+                // Viewport/radius small enough for the grid: only visit listings in overlapping cells
+                int candidates = 0;
+                for (GridCell cell : cells) {
+                    candidates += cell.size;
+                }
+                hits = new int[candidates];
+                for (GridCell cell : cells) {
+                    for (int i = 0; i < cell.size; i++) {
+                        int slot = cell.slots[i];
+                        if (matches.get(slot) && geo.contains(latitudes[slot], longitudes[slot]) && ranges.test(slot)) {
+                            hits[hitCount++] = slot;
+                        }
+                    }
+                }
+            } else {
+                // Walk the bitmap a word at a time; this loop is bound by memory bandwidth at 1M slots
+                hits = new int[matches.cardinality()];
+                double[] lats = latitudes;
+                double[] lngs = longitudes;
+                long[] words = matches.toLongArray();
+                for (int w = 0; w < words.length; w++) {
+                    for (long word = words[w]; word != 0; word &= word - 1) {
+                        int slot = (w << 6) + Long.numberOfTrailingZeros(word);
+                        if ((geo == null || geo.contains(lats[slot], lngs[slot])) && ranges.test(slot)) {
+                            hits[hitCount++] = slot;
+                        }
+                    }
+                }
+            }
+
+            List<Long> pageIds = sortAndPage(hits, hitCount, sortBy, geo, ascending, page, size);
+            return new IndexPage(pageIds, hitCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ====================== INTERNALS ======================
+
+    private boolean isSortable(String sortBy) {
+        switch (sortBy) {
+            case "id":
+            case "price":
+            case "bedrooms":
+            case "bathrooms":
+            case "squareFeet":
+            case "createdAt":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private double sortKey(int slot, String sortBy, GeoFilter geo) {
+        switch (sortBy) {
+            case DISTANCE_SORT: return geo.distanceRank(latitudes[slot], longitudes[slot]);
+            case "id": return ids[slot];
+            case "price": return prices[slot];
+            case "bedrooms": return bedrooms[slot];
+            case "bathrooms": return bathrooms[slot];
+            case "squareFeet": return squareFeet[slot];
+            default: return createdAt[slot];
+        }
+    }
+
+    private List<Long> sortAndPage(int[] hits, int hitCount, String sortBy, GeoFilter geo,
+                                   boolean ascending, int page, int size) {
+        List<Long> result = new ArrayList<>();
+        long from = (long) page * size;
+        if (from >= hitCount) {
+            return result;
+        }
+        int to = (int) Math.min(from + size, hitCount);
+
+        // Keys computed once per hit (distance is not free), compared by position in hits
+        double[] keys = new double[hitCount];
+        for (int i = 0; i < hitCount; i++) {
+            keys[i] = sortKey(hits[i], sortBy, geo);
+        }
+
+        // Only the first `to` hits in order are needed: keep them in a bounded heap with the
+        // worst kept hit on top, rather than sorting every hit (large viewports match a lot)
+        int[] heap = new int[to];
+        int heapSize = 0;
+        for (int i = 0; i < hitCount; i++) {
+            if (heapSize < to) {
+                heap[heapSize++] = i;
+                siftUp(heap, heapSize - 1, keys, hits, ascending);
+            } else if (compareHits(i, heap[0], keys, hits, ascending) < 0) {
+                heap[0] = i;
+                siftDown(heap, heapSize, keys, hits, ascending);
+            }
+        }
+
+        // Drain worst-first into the tail, leaving the kept hits in order
+        int[] ordered = new int[to];
+        while (heapSize > 0) {
+            ordered[heapSize - 1] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, keys, hits, ascending);
+        }
+        for (int i = (int) from; i < to; i++) {
+            result.add(ids[hits[ordered[i]]]);
+        }
+        return result;
+    }
+
+    /**
+     * Order of two hit positions; ties broken on id so paging is stable
+     */
+    private int compareHits(int a, int b, double[] keys, int[] hits, boolean ascending) {
+        int cmp = Double.compare(keys[a], keys[b]);
+        if (cmp == 0) {
+            cmp = Long.compare(ids[hits[a]], ids[hits[b]]);
+        }
+        return ascending ? cmp : -cmp;
+    }
+
+    private void siftUp(int[] heap, int index, double[] keys, int[] hits, boolean ascending) {
+        int item = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compareHits(item, heap[parent], keys, hits, ascending) <= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = item;
+    }
+
+    private void siftDown(int[] heap, int heapSize, double[] keys, int[] hits, boolean ascending) {
+        if (heapSize == 0) {
+            return;
+        }
+        int item = heap[0];
+        int index = 0;
+        int half = heapSize >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < heapSize && compareHits(heap[child + 1], heap[child], keys, hits, ascending) > 0) {
+                child++;
+            }
+            if (compareHits(item, heap[child], keys, hits, ascending) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = item;
+    }
+
+    /**
+     * Grid cells overlapping the filter's box, or null if the box spans more than
+     * search.geo.max-grid-cells (the caller then scans the coordinate columns)
+     */
+    private List<GridCell> coveringCells(GeoFilter geo) {
+        int latFrom = latIndex(geo.getMinLatitude());
+        int latTo = latIndex(geo.getMaxLatitude());
+        int lngFrom = lngIndex(geo.getMinLongitude());
+        int lngTo = lngIndex(geo.getMaxLongitude());
+        if ((long) (latTo - latFrom + 1) * (lngTo - lngFrom + 1) > maxGridCells) {
+            return null;
+        }
+        List<GridCell> cells = new ArrayList<>();
+        for (int lat = latFrom; lat <= latTo; lat++) {
+            for (int lng = lngFrom; lng <= lngTo; lng++) {
+                GridCell cell = grid.get(cellKey(lat, lng));
+                if (cell != null) {
+                    cells.add(cell);
+                }
+            }
+        }
+        return cells;
+    }
+
+    private <K> void andPosting(BitSet matches, Map<K, BitSet> postings, K key) {
+        if (key == null || (key instanceof String && ((String) key).isEmpty())) {
+            return;
+        }
+        BitSet posting = postings.get(key);
+        if (posting == null) {
+            matches.clear();
+        } else {
+            matches.and(posting);
+        }
+    }
+
+    private void putLocked(Property property) {
+        int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.remove(freeSlots.size() - 1);
+        ensureCapacity(slot + 1);
+
+        ids[slot] = property.getId();
+        prices[slot] = property.getPrice() != null ? property.getPrice().doubleValue() : 0d;
+        bedrooms[slot] = property.getBedrooms() != null ? property.getBedrooms().intValue() : 0;
+        bathrooms[slot] = property.getBathrooms() != null ? property.getBathrooms().doubleValue() : 0d;
+        squareFeet[slot] = property.getSquareFeet() != null ? property.getSquareFeet().intValue() : 0;
+        nullPrices.set(slot, property.getPrice() == null);
+        nullBedrooms.set(slot, property.getBedrooms() == null);
+        nullBathrooms.set(slot, property.getBathrooms() == null);
+        nullSquareFeet.set(slot, property.getSquareFeet() == null);
+        createdAt[slot] = property.getCreatedAt() != null
+                ? property.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+        latitudes[slot] = property.getLatitude() != null ? property.getLatitude() : Double.NaN;
+        longitudes[slot] = property.getLongitude() != null ? property.getLongitude() : Double.NaN;
+        if (hasCoordinates(slot)) {
+            grid.computeIfAbsent(cellKey(slot), k -> new GridCell()).add(slot);
+        }
+
+        live.set(slot);
+        slotById.put(property.getId(), slot);
+        addPosting(cityPostings, lowerOrNull(property.getCity()), slot);
+        addPosting(statePostings, lowerOrNull(property.getState()), slot);
+        addPosting(propertyTypePostings, property.getPropertyType(), slot);
+        addPosting(listingTypePostings, property.getListingType(), slot);
+    }
+
+    private void removeLocked(Long propertyId) {
+        Integer slot = slotById.remove(propertyId);
+        if (slot == null) {
+            return;
+        }
+        live.clear(slot);
+        nullPrices.clear(slot);
+        nullBedrooms.clear(slot);
+        nullBathrooms.clear(slot);
+        nullSquareFeet.clear(slot);
+        if (hasCoordinates(slot)) {
+            long key = cellKey(slot);
+            GridCell cell = grid.get(key);
+            if (cell != null && cell.remove(slot) && cell.size == 0) {
+                grid.remove(key);
+            }
+        }
+        cityPostings.values().forEach(bits -> bits.clear(slot));
+        statePostings.values().forEach(bits -> bits.clear(slot));
+        propertyTypePostings.values().forEach(bits -> bits.clear(slot));
+        listingTypePostings.values().forEach(bits -> bits.clear(slot));
+        freeSlots.add(slot);
+    }
+
+    private <K> void addPosting(Map<K, BitSet> postings, K key, int slot) {
+        if (key != null) {
+            postings.computeIfAbsent(key, k -> new BitSet()).set(slot);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(required, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        bedrooms = Arrays.copyOf(bedrooms, capacity);
+        bathrooms = Arrays.copyOf(bathrooms, capacity);
+        squareFeet = Arrays.copyOf(squareFeet, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        latitudes = Arrays.copyOf(latitudes, capacity);
+        longitudes = Arrays.copyOf(longitudes, capacity);
+    }
+
+    private boolean hasCoordinates(int slot) {
+        return !Double.isNaN(latitudes[slot]) && !Double.isNaN(longitudes[slot]);
+    }
+
+    private long cellKey(int slot) {
+        return cellKey(latIndex(latitudes[slot]), lngIndex(longitudes[slot]));
+    }
+
+    private static long cellKey(int latIndex, int lngIndex) {
+        return ((long) latIndex << 32) | (lngIndex & 0xffffffffL);
+    }
+
+    private int latIndex(double latitude) {
+        return (int) Math.floor((latitude + 90) / cellDegrees);
+    }
+
+    private int lngIndex(double longitude) {
+        return (int) Math.floor((longitude + 180) / cellDegrees);
+    }
+
+    private static String lowerOrNull(String value) {
+        return value != null ? value.trim().toLowerCase() : null;
+    }
+
+    /**
+     * Numeric range filters of one request, unset bounds widened to match everything
+     */
+    private final class Ranges {
+        // Column arrays captured once so the scan loop doesn't re-read the outer fields per slot
+        private final double[] prices = PropertySearchIndex.this.prices;
+        private final int[] bedrooms = PropertySearchIndex.this.bedrooms;
+        private final double[] bathrooms = PropertySearchIndex.this.bathrooms;
+        private final int[] squareFeet = PropertySearchIndex.this.squareFeet;
+
+        private final double minPrice;
+        private final double maxPrice;
+        private final int minBeds;
+        private final int maxBeds;
+        private final double minBaths;
+        private final double maxBaths;
+        private final int minSqft;
+        private final int maxSqft;
+
+        Ranges(PropertySearchRequest request) {
+            minPrice = request.getMinPrice() != null ? request.getMinPrice().doubleValue() : Double.NEGATIVE_INFINITY;
+            maxPrice = request.getMaxPrice() != null ? request.getMaxPrice().doubleValue() : Double.POSITIVE_INFINITY;
+            minBeds = request.getMinBedrooms() != null ? request.getMinBedrooms().intValue() : Integer.MIN_VALUE;
+            maxBeds = request.getMaxBedrooms() != null ? request.getMaxBedrooms().intValue() : Integer.MAX_VALUE;
+            minBaths = request.getMinBathrooms() != null ? request.getMinBathrooms().doubleValue() : Double.NEGATIVE_INFINITY;
+            maxBaths = request.getMaxBathrooms() != null ? request.getMaxBathrooms().doubleValue() : Double.POSITIVE_INFINITY;
+            minSqft = request.getMinSquareFeet() != null ? request.getMinSquareFeet().intValue() : Integer.MIN_VALUE;
+            maxSqft = request.getMaxSquareFeet() != null ? request.getMaxSquareFeet().intValue() : Integer.MAX_VALUE;
+        }
+
+        boolean test(int slot) {
+            return prices[slot] >= minPrice && prices[slot] <= maxPrice
+                    && bedrooms[slot] >= minBeds && bedrooms[slot] <= maxBeds
+                    && bathrooms[slot] >= minBaths && bathrooms[slot] <= maxBaths
+                    && squareFeet[slot] >= minSqft && squareFeet[slot] <= maxSqft;
+        }
+    }
+
+    /**
+     * Slots of the properties inside one grid cell (unordered; removal swaps in the last slot)
+     */
+    private static final class GridCell {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
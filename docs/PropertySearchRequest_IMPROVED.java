@@ -0,0 +1,74 @@
+package com.realestate.dto;
+
+import com.realestate.model.ListingType;
+import com.realestate.model.PropertyType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Request body for POST /api/properties/search
+ * All filters are optional; null means "not filtered"
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertySearchRequest {
+
+    /**
+     * How the keyword is matched
+     * LIKE      - substring scan over title/description/address (default, previous behaviour)
+     * FULL_TEXT - inverted index with prefix matching, results ranked by relevance
+     */
+    public enum SearchMode {
+        LIKE,
+        FULL_TEXT
+    }
+
+    private String keyword;
+
+    @Builder.Default
+    private SearchMode searchMode = SearchMode.LIKE;
+
+    private String city;
+    private String state;
+    private PropertyType propertyType;
+    private ListingType listingType;
+
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minBedrooms;
+    private Integer maxBedrooms;
+    private Integer minBathrooms;
+    private Integer maxBathrooms;
+    private Integer minSquareFeet;
+    private Integer maxSquareFeet;
+
+    /**
+     * Radius search: latitude/longitude is the center, radiusKm the distance from it
+     * The center alone (with a bounding box) only enables sortBy=distance
+     */
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
+
+    /**
+     * Bounding box (map viewport); all four or none
+     */
+    private Double minLatitude;
+    private Double maxLatitude;
+    private Double minLongitude;
+    private Double maxLongitude;
+
+    /**
+     * Any indexed field, or "distance" when a center point is given
+     */
+    private String sortBy;
+    private String sortDirection;
+    private Integer page;
+    private Integer size;
+}
@@ -0,0 +1,80 @@
+package com.realestate.repository;
+
+import com.realestate.dto.PropertySearchRequest;
+import com.realestate.model.Property;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset ("seek") pages over the structured search filters, ordered by any SortKey then id
+ * The JPQL depends on the sort column, so it is built in PropertySearchSeekRepositoryImpl
+ * instead of an @Query per column and direction.
+ */
+public interface PropertySearchSeekRepository {
+
+    /**
+     * Columns the search can seek on; nullable columns sort as -1, so NULLs come first
+     * ascending as they do in MySQL, and the seek predicate never compares against NULL
+     */
+    enum SortKey {
+        ID("id", "p.id", Property::getId, Long::valueOf),
+        PRICE("price", "COALESCE(p.price, -1)",
+                p -> p.getPrice() != null ? p.getPrice() : BigDecimal.ONE.negate(), BigDecimal::new),
+        BEDROOMS("bedrooms", "COALESCE(p.bedrooms, -1)",
+                p -> p.getBedrooms() != null ? p.getBedrooms() : -1, Integer::valueOf),
+        BATHROOMS("bathrooms", "COALESCE(p.bathrooms, -1)",
+                p -> p.getBathrooms() != null ? p.getBathrooms() : -1, Integer::valueOf),
+        SQUARE_FEET("squareFeet", "COALESCE(p.squareFeet, -1)",
+                p -> p.getSquareFeet() != null ? p.getSquareFeet() : -1, Integer::valueOf),
+        CREATED_AT("createdAt", "p.createdAt", Property::getCreatedAt, LocalDateTime::parse);
+
+        private final String property;
+        private final String expression;
+        private final Function<Property, Object> valueOf;
+        private final Function<String, Object> parser;
+
+        SortKey(String property, String expression, Function<Property, Object> valueOf, Function<String, Object> parser) {
+            this.property = property;
+            this.expression = expression;
+            this.valueOf = valueOf;
+            this.parser = parser;
+        }
+
+        /**
+         * @return the key for a sortBy value, or null if the search can't seek on it
+         */
+        public static SortKey from(String sortBy) {
+            for (SortKey key : values()) {
+                if (key.property.equals(sortBy)) {
+                    return key;
+                }
+            }
+            return null;
+        }
+
+        public String getExpression() {
+            return expression;
+        }
+
+        /**
+         * The row's sort value as written into a cursor
+         */
+        public String format(Property property) {
+            return String.valueOf(valueOf.apply(property));
+        }
+
+        public Object parse(String value) {
+            return parser.apply(value);
+        }
+    }
+
+    /**
+     * Up to limit rows matching the request's structured filters, strictly after (afterValue, afterId)
+     * in (key, id) order; afterId null means the first page
+     */
+    List<Property> searchAfter(PropertySearchRequest request, SortKey key, boolean ascending,
+                               Object afterValue, Long afterId, int limit);
+}
@@ -0,0 +1,60 @@
+package com.realestate.repository;
+
+import com.realestate.dto.PropertySearchRequest;
+import com.realestate.model.Property;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.List;
+
+/**
+ * Picked up by Spring Data as the implementation of the PropertySearchSeekRepository fragment
+ */
+public class PropertySearchSeekRepositoryImpl implements PropertySearchSeekRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Property> searchAfter(PropertySearchRequest request, SortKey key, boolean ascending,
+                                      Object afterValue, Long afterId, int limit) {
+        String direction = ascending ? " ASC" : " DESC";
+        String after = ascending ? " > " : " < ";
+        String column = key.getExpression();
+
+        StringBuilder jpql = new StringBuilder("SELECT p FROM Property p WHERE ")
+                .append(PropertyRepository.SEARCH_FILTERS);
+        if (afterId != null) {
+            jpql.append(key == SortKey.ID
+                    ? " AND p.id" + after + ":afterId"
+                    : " AND (" + column + after + ":afterValue OR (" + column + " = :afterValue AND p.id" + after + ":afterId))");
+        }
+        jpql.append(" ORDER BY ").append(column).append(direction);
+        if (key != SortKey.ID) {
+            jpql.append(", p.id").append(direction);
+        }
+
+        TypedQuery<Property> query = entityManager.createQuery(jpql.toString(), Property.class)
+                .setParameter("city", request.getCity())
+                .setParameter("state", request.getState())
+                .setParameter("propertyType", request.getPropertyType())
+                .setParameter("listingType", request.getListingType())
+                .setParameter("minPrice", request.getMinPrice())
+                .setParameter("maxPrice", request.getMaxPrice())
+                .setParameter("minBedrooms", request.getMinBedrooms())
+                .setParameter("maxBedrooms", request.getMaxBedrooms())
+                .setParameter("minBathrooms", request.getMinBathrooms())
+                .setParameter("maxBathrooms", request.getMaxBathrooms())
+                .setParameter("minSquareFeet", request.getMinSquareFeet())
+                .setParameter("maxSquareFeet", request.getMaxSquareFeet())
+                .setMaxResults(limit);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+            if (key != SortKey.ID) {
+                query.setParameter("afterValue", afterValue);
+            }
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.realestate.controller;
+
+import com.realestate.dto.ApiResponse;
+import com.realestate.service.PropertyStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * REST Controller for the precomputed property statistics
+ * Served from memory; the refresh endpoint rebuilds the snapshot from the database
+ */
+@RestController
+@RequestMapping("/api/properties/statistics")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class PropertyStatisticsController {
+
+    @Autowired
+    private PropertyStatisticsService propertyStatisticsService;
+
+    /**
+     * Per-city price summary (count, sum, min, max, average, median, p90, p99)
+     * GET /api/properties/statistics/cities
+     */
+    @GetMapping("/cities")
+    public ResponseEntity<ApiResponse<Map<String, Map<String, Object>>>> getCityPriceSummary() {
+        return ResponseEntity.ok(ApiResponse.success(propertyStatisticsService.getCityPriceSummary(),
+                "City statistics retrieved"));
+    }
+
+    /**
+     * Rebuild the statistics snapshot from the database
+     * POST /api/properties/statistics/refresh
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> refresh() {
+        propertyStatisticsService.refresh();
+        return ResponseEntity.ok(ApiResponse.success(Map.of(
+                "cities", propertyStatisticsService.getAllCities().size(),
+                "states", propertyStatisticsService.getAllStates().size(),
+                "availableCount", propertyStatisticsService.getAvailableCount()
+        ), "Statistics snapshot refreshed"));
+    }
+}
@@ -0,0 +1,356 @@
+package com.realestate.service;
+
+import com.realestate.model.Property;
+import com.realestate.repository.PropertyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Materialized city/state dictionaries and per-city price statistics
+ * Built once from a full snapshot, then updated incrementally from create/update/delete,
+ * so getAllCities, getAllStates, getAvailableCount and getAveragePriceByCity never
+ * touch the database. refresh() rebuilds the snapshot on demand; changes committed while
+ * the snapshot loads are held and re-applied after the rebuild.
+ */
+@Service
+public class PropertyStatisticsService {
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    private volatile boolean ready = false;
+
+    // What each property currently contributes, so updates can subtract the old values
+    private final Map<Long, Contribution> contributions = new HashMap<>();
+
+    // lower-case key -> display name / reference count
+    private final TreeMap<String, String> cityNames = new TreeMap<>();
+    private final Map<String, Integer> cityRefs = new HashMap<>();
+    private final TreeMap<String, String> stateNames = new TreeMap<>();
+    private final Map<String, Integer> stateRefs = new HashMap<>();
+
+    private final Map<String, CityPriceStats> cityStats = new HashMap<>();
+    private long availableCount = 0;
+
+    // Between beginRebuild() and rebuild(): latest contribution per ID, null for a delete
+    private boolean rebuilding = false;
+    private final Map<Long, Contribution> changedDuringRebuild = new HashMap<>();
+
+    private static class Contribution {
+        final String city;
+        final String state;
+        final BigDecimal price;
+        final boolean available;
+
+        Contribution(Property property) {
+            this.city = property.getCity();
+            this.state = property.getState();
+            this.price = property.getPrice();
+            this.available = Boolean.TRUE.equals(property.getAvailable());
+        }
+    }
+
+    /**
+     * Price aggregates for one city
+     * count/sum/min/max are exact (min/max via a price multiset so deletes stay correct);
+     * percentiles come from a mergeable log-bucket sketch with ~1% relative error.
+     */
+    public static class CityPriceStats {
+        private long count = 0;
+        private BigDecimal sum = BigDecimal.ZERO;
+        private final TreeMap<BigDecimal, Integer> prices = new TreeMap<>();
+        private final PriceSketch sketch = new PriceSketch();
+
+        void add(BigDecimal price) {
+            count++;
+            sum = sum.add(price);
+            prices.merge(price, 1, Integer::sum);
+            sketch.add(price.doubleValue(), 1);
+        }
+
+        void remove(BigDecimal price) {
+            count--;
+            sum = sum.subtract(price);
+            prices.computeIfPresent(price, (p, n) -> n > 1 ? n - 1 : null);
+            sketch.add(price.doubleValue(), -1);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public BigDecimal getSum() {
+            return sum;
+        }
+
+        public BigDecimal getMin() {
+            return prices.isEmpty() ? null : prices.firstKey();
+        }
+
+        public BigDecimal getMax() {
+            return prices.isEmpty() ? null : prices.lastKey();
+        }
+
+        public BigDecimal getAverage() {
+            return count == 0 ? null : sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+        }
+
+        public BigDecimal getPercentile(double quantile) {
+            double value = sketch.quantile(quantile);
+            return Double.isNaN(value) ? null : BigDecimal.valueOf(value).setScale(0, RoundingMode.HALF_UP);
+        }
+
+        public PriceSketch getSketch() {
+            return sketch;
+        }
+    }
+
+    /**
+     * Log-bucketed quantile sketch (DDSketch style): bucket i holds values in (gamma^(i-1), gamma^i]
+     * Buckets are plain counts, so sketches merge by addition and support removal.
+     */
+    public static class PriceSketch {
+        private static final double RELATIVE_ACCURACY = 0.01;
+        private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+        private static final double LOG_GAMMA = Math.log(GAMMA);
+
+        private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+        private long zeroCount = 0;
+        private long total = 0;
+
+        void add(double value, long delta) {
+            total += delta;
+            if (value <= 0) {
+                zeroCount += delta;
+                return;
+            }
+            int index = (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+            buckets.compute(index, (i, n) -> {
+                long updated = (n != null ? n : 0) + delta;
+                return updated > 0 ? updated : null;
+            });
+        }
+
+        public void merge(PriceSketch other) {
+            other.buckets.forEach((i, n) -> buckets.merge(i, n, Long::sum));
+            zeroCount += other.zeroCount;
+            total += other.total;
+        }
+
+        public double quantile(double q) {
+            if (total <= 0) {
+                return Double.NaN;
+            }
+            long rank = (long) Math.floor(q * (total - 1));
+            if (rank < zeroCount) {
+                return 0;
+            }
+            long seen = zeroCount;
+            for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+                seen += bucket.getValue();
+                if (seen > rank) {
+                    return 2 * Math.pow(GAMMA, bucket.getKey()) / (GAMMA + 1);
+                }
+            }
+            return 2 * Math.pow(GAMMA, buckets.lastKey()) / (GAMMA + 1);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Rebuild every dictionary and aggregate from the database (startup and refresh endpoint)
+     */
+    @Transactional(readOnly = true)
+    public void refresh() {
+        beginRebuild();
+        List<Property> all;
+        try {
+            all = propertyRepository.findAll();
+        } catch (RuntimeException e) {
+            abortRebuild();
+            throw e;
+        }
+        rebuild(all);
+    }
+
+    /**
+     * Start holding put/remove calls; call before reading the snapshot passed to rebuild()
+     */
+    public synchronized void beginRebuild() {
+        rebuilding = true;
+        changedDuringRebuild.clear();
+    }
+
+    /**
+     * Drop the held changes if the snapshot could not be loaded
+     */
+    public synchronized void abortRebuild() {
+        rebuilding = false;
+        changedDuringRebuild.clear();
+    }
+
+    /**
+     * Replace everything with the snapshot, then re-apply the changes held since beginRebuild()
+     */
+    public synchronized void rebuild(Collection<Property> properties) {
+        contributions.clear();
+        cityNames.clear();
+        cityRefs.clear();
+        stateNames.clear();
+        stateRefs.clear();
+        cityStats.clear();
+        availableCount = 0;
+        properties.forEach(this::addLocked);
+        changedDuringRebuild.forEach((id, contribution) -> {
+            removeLocked(id);
+            if (contribution != null) {
+                addLocked(id, contribution);
+            }
+        });
+        changedDuringRebuild.clear();
+        rebuilding = false;
+        ready = true;
+    }
+
+    /**
+     * Apply a created/updated property (call once the write has committed)
+     */
+    public synchronized void put(Property property) {
+        Contribution contribution = new Contribution(property);
+        if (rebuilding) {
+            changedDuringRebuild.put(property.getId(), contribution);
+        }
+        if (!ready) {
+            return;
+        }
+        removeLocked(property.getId());
+        addLocked(property.getId(), contribution);
+    }
+
+    /**
+     * Apply deleted properties (call once the delete has committed)
+     */
+    public synchronized void remove(Collection<Long> propertyIds) {
+        if (rebuilding) {
+            propertyIds.forEach(id -> changedDuringRebuild.put(id, null));
+        }
+        propertyIds.forEach(this::removeLocked);
+    }
+
+    // ====================== READS ======================
+
+    public synchronized List<String> getAllCities() {
+        return new ArrayList<>(cityNames.values());
+    }
+
+    public synchronized List<String> getAllStates() {
+        return new ArrayList<>(stateNames.values());
+    }
+
+    public synchronized long getAvailableCount() {
+        return availableCount;
+    }
+
+    public synchronized BigDecimal getAveragePriceByCity(String city) {
+        CityPriceStats stats = city != null ? cityStats.get(city.trim().toLowerCase()) : null;
+        return stats != null ? stats.getAverage() : null;
+    }
+
+    /**
+     * count, sum, min, max, average, median, p90 and p99 per city (for dashboard tiles)
+     */
+    public synchronized Map<String, Map<String, Object>> getCityPriceSummary() {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        cityNames.forEach((key, name) -> {
+            CityPriceStats stats = cityStats.get(key);
+            if (stats == null || stats.getCount() == 0) {
+                return;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("count", stats.getCount());
+            row.put("sum", stats.getSum());
+            row.put("min", stats.getMin());
+            row.put("max", stats.getMax());
+            row.put("average", stats.getAverage());
+            row.put("median", stats.getPercentile(0.5));
+            row.put("p90", stats.getPercentile(0.9));
+            row.put("p99", stats.getPercentile(0.99));
+            summary.put(name, row);
+        });
+        return summary;
+    }
+
+    // ====================== INTERNALS ======================
+
+    private void addLocked(Property property) {
+        addLocked(property.getId(), new Contribution(property));
+    }
+
+    private void addLocked(Long id, Contribution c) {
+        contributions.put(id, c);
+        addName(cityNames, cityRefs, c.city);
+        addName(stateNames, stateRefs, c.state);
+        if (c.available) {
+            availableCount++;
+        }
+        if (c.city != null && c.price != null) {
+            cityStats.computeIfAbsent(c.city.trim().toLowerCase(), k -> new CityPriceStats()).add(c.price);
+        }
+    }
+
+    private void removeLocked(Long id) {
+        Contribution c = contributions.remove(id);
+        if (c == null) {
+            return;
+        }
+        removeName(cityNames, cityRefs, c.city);
+        removeName(stateNames, stateRefs, c.state);
+        if (c.available) {
+            availableCount--;
+        }
+        if (c.city != null && c.price != null) {
+            String key = c.city.trim().toLowerCase();
+            CityPriceStats stats = cityStats.get(key);
+            if (stats != null) {
+                stats.remove(c.price);
+                if (stats.getCount() == 0) {
+                    cityStats.remove(key);
+                }
+            }
+        }
+    }
+
+    private static void addName(TreeMap<String, String> names, Map<String, Integer> refs, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        String key = value.trim().toLowerCase();
+        names.putIfAbsent(key, value.trim());
+        refs.merge(key, 1, Integer::sum);
+    }
+
+    private static void removeName(TreeMap<String, String> names, Map<String, Integer> refs, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        String key = value.trim().toLowerCase();
+        if (refs.merge(key, -1, Integer::sum) <= 0) {
+            refs.remove(key);
+            names.remove(key);
+        }
+    }
+}
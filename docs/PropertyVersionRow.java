@@ -0,0 +1,21 @@
+package com.realestate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a listed property that its ETag depends on, filled by a JPQL constructor expression
+ * Loading these instead of the entities lets a page be fingerprinted without hydrating it.
+ */
+@Getter
+@AllArgsConstructor
+public class PropertyVersionRow {
+
+    private final Long id;
+    private final LocalDateTime updatedAt;
+    // The response embeds the owner's name and contact details; null if there is no owner
+    private final LocalDateTime ownerUpdatedAt;
+    private final Long favoriteCount;
+}
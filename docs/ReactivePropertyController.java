@@ -0,0 +1,130 @@
+package com.realestate.controller;
+
+import com.realestate.dto.ApiResponse;
+import com.realestate.dto.PropertyPageView;
+import com.realestate.dto.PropertyResponse;
+import com.realestate.dto.PropertySearchRequest;
+import com.realestate.dto.RecommendationResponse;
+import com.realestate.service.ReactiveReadService;
+import com.realestate.service.RecommendationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Non-blocking read API, parallel to the blocking /api/properties and /api/favorites endpoints
+ * Spring MVC subscribes to the returned Mono/Flux and releases the request thread while the
+ * lookup runs; streaming endpoints write NDJSON and request one element at a time.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class ReactivePropertyController {
+
+    private static final int MAX_STREAM_PAGE_SIZE = 100;
+    private static final int MAX_RECOMMENDATIONS = 50;
+
+    @Autowired
+    private ReactiveReadService reactiveReadService;
+
+    /**
+     * Search properties with filters
+     * GET /api/reactive/properties/search?city=Pune&page=0&size=10&userId=1
+     */
+    @GetMapping("/properties/search")
+    public Mono<ResponseEntity<ApiResponse<PropertyPageView>>> searchProperties(
+            @ModelAttribute PropertySearchRequest request,
+            @RequestParam(required = false) Long userId) {
+        return ok(reactiveReadService.searchProperties(request, userId), "Search completed");
+    }
+
+    /**
+     * Available properties, offset-paged
+     * GET /api/reactive/properties/available?page=0&size=10&sortBy=createdAt&direction=DESC
+     */
+    @GetMapping("/properties/available")
+    public Mono<ResponseEntity<ApiResponse<PropertyPageView>>> getAvailableProperties(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String direction) {
+        return ok(reactiveReadService.getAvailablePropertiesPaged(page, size, sortBy, direction),
+                "Available properties retrieved");
+    }
+
+    /**
+     * Stream every available property as NDJSON, fetched page by page as the client reads
+     * GET /api/reactive/properties/available/stream?pageSize=50
+     */
+    @GetMapping(value = "/properties/available/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PropertyResponse> streamAvailableProperties(@RequestParam(defaultValue = "50") int pageSize) {
+        return reactiveReadService.streamAvailableProperties(Math.min(pageSize, MAX_STREAM_PAGE_SIZE));
+    }
+
+    /**
+     * Stream every property matching the search as NDJSON (size = page size used internally)
+     * GET /api/reactive/properties/search/stream?city=Pune&size=50
+     */
+    @GetMapping(value = "/properties/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PropertyResponse> streamSearch(@ModelAttribute PropertySearchRequest request,
+                                               @RequestParam(required = false) Long userId) {
+        return reactiveReadService.streamSearch(request, userId);
+    }
+
+    /**
+     * Recommended properties for a listing; similar local listings when the recommendation service
+     * is slow, failing or saturated (source/fallbackReason in the body say which)
+     * GET /api/reactive/properties/{id}/recommendations?userId=1&limit=10
+     * Optional X-Request-Timeout-Ms header: the caller's remaining budget, passed on downstream
+     */
+    @GetMapping("/properties/{id}/recommendations")
+    public Mono<ResponseEntity<ApiResponse<RecommendationResponse>>> getRecommendations(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestHeader(value = RecommendationService.TIMEOUT_HEADER, required = false) Long timeoutMs) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_RECOMMENDATIONS));
+        return ok(reactiveReadService.getRecommendations(id, userId, boundedLimit, timeoutMs),
+                "Recommendations retrieved");
+    }
+
+    /**
+     * Check if a property is favorited by user
+     * GET /api/reactive/favorites/check?userId=1&propertyId=5
+     */
+    @GetMapping("/favorites/check")
+    public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> checkFavorite(
+            @RequestParam Long userId,
+            @RequestParam Long propertyId) {
+        return ok(reactiveReadService.isFavorited(userId, propertyId)
+                .map(isFavorited -> Map.<String, Object>of(
+                        "isFavorited", isFavorited,
+                        "userId", userId,
+                        "propertyId", propertyId)), "Favorite status retrieved");
+    }
+
+    /**
+     * Get total favorite count for a property
+     * GET /api/reactive/favorites/count/{propertyId}
+     */
+    @GetMapping("/favorites/count/{propertyId}")
+    public Mono<ResponseEntity<ApiResponse<Map<String, Object>>>> getFavoriteCount(@PathVariable Long propertyId) {
+        return ok(reactiveReadService.getFavoriteCount(propertyId)
+                .map(count -> Map.<String, Object>of(
+                        "propertyId", propertyId,
+                        "favoriteCount", count)), "Favorite count retrieved");
+    }
+
+    private <T> Mono<ResponseEntity<ApiResponse<T>>> ok(Mono<T> result, String message) {
+        return result
+                .map(body -> ResponseEntity.ok(ApiResponse.success(body, message)))
+                .onErrorResume(RuntimeException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(ApiResponse.error(HttpStatus.BAD_REQUEST.value(), e.getMessage()))));
+    }
+}
@@ -0,0 +1,116 @@
+package com.realestate.service;
+
+import com.realestate.dto.CursorPageResponse;
+import com.realestate.dto.PropertyPageView;
+import com.realestate.dto.PropertyResponse;
+import com.realestate.dto.PropertySearchRequest;
+import com.realestate.dto.RecommendationResponse;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Non-blocking facade over the read-heavy paths of PropertyService and FavoriteService
+ * Each call is offloaded to a bounded scheduler sized to the JDBC pool, so request threads
+ * return immediately and excess load queues (up to reactive.jdbc.queue-size) instead of
+ * holding a thread per waiting request. Domain logic and caches stay in the existing services.
+ */
+@Service
+public class ReactiveReadService implements DisposableBean {
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private FavoriteService favoriteService;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    private final Scheduler jdbcScheduler;
+
+    public ReactiveReadService(@Value("${reactive.jdbc.max-concurrency:16}") int maxConcurrency,
+                               @Value("${reactive.jdbc.queue-size:10000}") int queueSize) {
+        this.jdbcScheduler = Schedulers.newBoundedElastic(maxConcurrency, queueSize, "reactive-jdbc");
+    }
+
+    // ====================== PROPERTIES ======================
+
+    /**
+     * Served as PropertyPageView: same JSON as PageResponse<PropertyResponse>, written straight from the entities
+     */
+    public Mono<PropertyPageView> searchProperties(PropertySearchRequest request, Long userId) {
+        return blocking(() -> propertyService.searchPropertiesView(request, userId));
+    }
+
+    public Mono<PropertyPageView> getAvailablePropertiesPaged(int page, int size, String sortBy, String direction) {
+        return blocking(() -> propertyService.getAvailablePropertiesPageView(page, size, sortBy, direction));
+    }
+
+    /**
+     * Every available property, newest first, read one keyset page at a time as the subscriber requests more
+     */
+    public Flux<PropertyResponse> streamAvailableProperties(int pageSize) {
+        return streamPages(cursor -> propertyService.getAvailablePropertiesCursor(cursor, pageSize, false));
+    }
+
+    /**
+     * Every property matching the search, read one keyset page at a time as the subscriber requests more
+     * Each page seeks past the last row, so a full stream reads every row once. Keyword and geo
+     * requests fail with 400 before anything is written, as searchPropertiesCursor rejects them.
+     */
+    public Flux<PropertyResponse> streamSearch(PropertySearchRequest request, Long userId) {
+        return streamPages(cursor -> propertyService.searchPropertiesCursor(request, cursor, false, userId));
+    }
+
+    // ====================== RECOMMENDATIONS ======================
+
+    /**
+     * The remote call never touches the JDBC scheduler; only hydration (or the local fallback) does
+     */
+    public Mono<RecommendationResponse> getRecommendations(Long propertyId, Long userId, int limit, Long timeoutMs) {
+        return recommendationService.recommend(propertyId, userId, limit, timeoutMs)
+                .flatMap(outcome -> blocking(() -> propertyService.getRecommendations(propertyId, userId, limit, outcome)));
+    }
+
+    // ====================== FAVORITES ======================
+
+    public Mono<Boolean> isFavorited(Long userId, Long propertyId) {
+        return blocking(() -> favoriteService.isFavorited(userId, propertyId));
+    }
+
+    public Mono<Long> getFavoriteCount(Long propertyId) {
+        return blocking(() -> favoriteService.getFavoriteCount(propertyId));
+    }
+
+    // ====================== HELPERS ======================
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(jdbcScheduler);
+    }
+
+    /**
+     * Pull-based paging: the next page is only fetched once the subscriber has requested
+     * past the current one, so at most one page is buffered ahead of a slow client
+     */
+    private Flux<PropertyResponse> streamPages(Function<String, CursorPageResponse<PropertyResponse>> fetch) {
+        return blocking(() -> fetch.apply(null))
+                .expand(page -> page.isHasNext()
+                        ? blocking(() -> fetch.apply(page.getNextCursor()))
+                        : Mono.empty())
+                .concatMapIterable(CursorPageResponse::getContent, 1);
+    }
+
+    @Override
+    public void destroy() {
+        jdbcScheduler.dispose();
+    }
+}
@@ -0,0 +1,47 @@
+package com.realestate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Properties recommended for a listing, and where they came from
+ * LOCAL results are nearest neighbours from the in-process SimilarPropertyIndex.
+ * FALLBACK results are similar listings from local data (same city and listing type,
+ * then same property type and a nearby price band), served when the recommendation
+ * service can't answer in time; fallbackReason says why.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationResponse {
+
+    public enum Source {
+        LOCAL,
+        REMOTE,
+        CACHE,
+        FALLBACK
+    }
+
+    public enum FallbackReason {
+        DISABLED,
+        DEADLINE,
+        CIRCUIT_OPEN,
+        BULKHEAD_FULL,
+        TIMEOUT,
+        ERROR,
+        EMPTY
+    }
+
+    private Long propertyId;
+
+    private List<PropertyResponse> properties;
+
+    private Source source;
+
+    private FallbackReason fallbackReason;
+}
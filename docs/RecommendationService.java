@@ -0,0 +1,386 @@
+package com.realestate.service;
+
+import com.realestate.dto.RecommendationResponse.FallbackReason;
+import com.realestate.dto.RecommendationResponse.Source;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Guards calls to DotNetRecommendationClient so a slow or failing service never holds request threads
+ * - deadline: the call gets min(recommendation.timeout-ms, caller's X-Request-Timeout-Ms minus a local reserve)
+ * - bulkhead: at most recommendation.max-concurrent calls in flight; extra callers don't wait
+ * - circuit breaker: after failure-threshold consecutive failures or timeouts, calls are skipped
+ *   for open-ms, then a single trial call decides whether to close again. Only timeouts of calls
+ *   that got the full timeout-ms count; running out of a shorter caller budget is a DEADLINE
+ *   fallback and says nothing about the service
+ * - TTL cache of answered IDs per (property, user, limit)
+ * Every path that can't reach the service completes with a fallback Outcome instead of an error;
+ * PropertyService turns that into similar listings from local data.
+ * When SimilarPropertyIndex is warm and can fill the limit, its answer is used and none of the above runs.
+ */
+@Service
+public class RecommendationService {
+
+    public static final String TIMEOUT_HEADER = DotNetRecommendationClient.TIMEOUT_HEADER;
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationService.class);
+
+    @Autowired
+    private DotNetRecommendationClient client;
+
+    @Autowired
+    private SimilarPropertyIndex similarPropertyIndex;
+
+    private final boolean enabled;
+    private final long timeoutMs;
+    private final long localReserveMs;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final TtlCache cache;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final Map<FallbackReason, LongAdder> fallbacks = new EnumMap<>(FallbackReason.class);
+
+    public RecommendationService(@Value("${recommendation.enabled:true}") boolean enabled,
+                                 @Value("${recommendation.timeout-ms:250}") long timeoutMs,
+                                 @Value("${recommendation.local-reserve-ms:50}") long localReserveMs,
+                                 @Value("${recommendation.max-concurrent:32}") int maxConcurrent,
+                                 @Value("${recommendation.circuit.failure-threshold:5}") int failureThreshold,
+                                 @Value("${recommendation.circuit.open-ms:10000}") long openMs,
+                                 @Value("${recommendation.cache.ttl-seconds:300}") long cacheTtlSeconds,
+                                 @Value("${recommendation.cache.max-entries:20000}") int cacheMaxEntries) {
+        this.enabled = enabled;
+        this.timeoutMs = timeoutMs;
+        this.localReserveMs = localReserveMs;
+        this.bulkhead = new Semaphore(Math.max(1, maxConcurrent));
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMs);
+        this.cache = new TtlCache(cacheMaxEntries, cacheTtlSeconds * 1000);
+        for (FallbackReason reason : FallbackReason.values()) {
+            fallbacks.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * Recommended IDs for a property, or a fallback outcome; never completes with an error
+     * @param callerTimeoutMs the caller's remaining budget (X-Request-Timeout-Ms), or null
+     */
+    public Mono<Outcome> recommend(Long propertyId, Long userId, int limit, Long callerTimeoutMs) {
+        return Mono.defer(() -> {
+            long[] similar = similarPropertyIndex.similarTo(propertyId, limit);
+            if (similar != null && similar.length == limit) {
+                localHits.increment();
+                return Mono.just(new Outcome(Arrays.stream(similar).boxed().toList(), Source.LOCAL, null));
+            }
+
+            CacheKey key = new CacheKey(propertyId, userId, limit);
+            List<Long> cached = cache.get(key);
+            if (cached != null) {
+                cacheHits.increment();
+                return Mono.just(new Outcome(cached, Source.CACHE, null));
+            }
+            cacheMisses.increment();
+
+            if (!enabled) {
+                return fallback(FallbackReason.DISABLED);
+            }
+            long budgetMs = callerTimeoutMs != null
+                    ? Math.min(timeoutMs, callerTimeoutMs - localReserveMs)
+                    : timeoutMs;
+            if (budgetMs <= 0) {
+                return fallback(FallbackReason.DEADLINE);
+            }
+            Object permit = circuitBreaker.tryAcquire();
+            if (permit == null) {
+                return fallback(FallbackReason.CIRCUIT_OPEN);
+            }
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.release(permit);
+                return fallback(FallbackReason.BULKHEAD_FULL);
+            }
+
+            Duration budget = Duration.ofMillis(budgetMs);
+            boolean callerLimited = budgetMs < timeoutMs;
+            return Mono.fromFuture(() -> client.recommend(propertyId, userId, limit, budget))
+                    .timeout(budget)
+                    .map(ids -> {
+                        cache.put(key, ids);
+                        circuitBreaker.onSuccess(permit);
+                        return new Outcome(ids, Source.REMOTE, null);
+                    })
+                    .onErrorResume(e -> {
+                        FallbackReason reason = !isTimeout(e) ? FallbackReason.ERROR
+                                : callerLimited ? FallbackReason.DEADLINE
+                                : FallbackReason.TIMEOUT;
+                        if (reason == FallbackReason.DEADLINE) {
+                            // The caller's deadline expired first; the service may just be slower than that
+                            circuitBreaker.release(permit);
+                        } else {
+                            circuitBreaker.onFailure(permit);
+                        }
+                        log.debug("Recommendation call for property {} failed ({})", propertyId, reason, e);
+                        return fallback(reason);
+                    })
+                    // Caller went away: the call proves nothing either way
+                    .doOnCancel(() -> circuitBreaker.release(permit))
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    public long getLocalHits() {
+        return localHits.sum();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public long getFallbackCount(FallbackReason reason) {
+        return fallbacks.get(reason).sum();
+    }
+
+    public boolean isCircuitOpen() {
+        return circuitBreaker.isOpen();
+    }
+
+    public int getAvailablePermits() {
+        return bulkhead.availablePermits();
+    }
+
+    private Mono<Outcome> fallback(FallbackReason reason) {
+        fallbacks.get(reason).increment();
+        return Mono.just(Outcome.fallback(reason));
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException || t instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * What the recommendation step produced: IDs to hydrate, or the reason to use local data
+     */
+    public static final class Outcome {
+
+        private final List<Long> propertyIds;
+        private final Source source;
+        private final FallbackReason fallbackReason;
+
+        Outcome(List<Long> propertyIds, Source source, FallbackReason fallbackReason) {
+            this.propertyIds = propertyIds;
+            this.source = source;
+            this.fallbackReason = fallbackReason;
+        }
+
+        public static Outcome fallback(FallbackReason reason) {
+            return new Outcome(Collections.emptyList(), Source.FALLBACK, reason);
+        }
+
+        public List<Long> getPropertyIds() {
+            return propertyIds;
+        }
+
+        public Source getSource() {
+            return source;
+        }
+
+        public FallbackReason getFallbackReason() {
+            return fallbackReason;
+        }
+
+        public boolean isFallback() {
+            return source == Source.FALLBACK;
+        }
+    }
+
+    // ====================== CIRCUIT BREAKER ======================
+
+    /**
+     * Closed -> open after threshold consecutive failures; open -> half-open once open-ms has passed,
+     * letting exactly one trial call through; its result closes or re-opens the circuit
+     * tryAcquire hands out a permit that the call passes back with its outcome. Only the current
+     * trial's permit can end the trial, so a call admitted before the circuit opened and finishing
+     * late can't release the slot or decide the half-open state.
+     */
+    private static final class CircuitBreaker {
+
+        // Permit of every call admitted while closed
+        private static final Object CLOSED = new Object();
+
+        private final int failureThreshold;
+        private final long openNanos;
+
+        private int consecutiveFailures;
+        private long openedAt;
+        private boolean open;
+        // Permit of the half-open trial call, null if none is in flight
+        private Object trial;
+
+        CircuitBreaker(int failureThreshold, long openMs) {
+            this.failureThreshold = Math.max(1, failureThreshold);
+            this.openNanos = openMs * 1_000_000L;
+        }
+
+        /**
+         * @return a permit to pass to onSuccess/onFailure/release, or null if the call is rejected
+         */
+        synchronized Object tryAcquire() {
+            if (!open) {
+                return CLOSED;
+            }
+            if (trial != null || System.nanoTime() - openedAt < openNanos) {
+                return null;
+            }
+            trial = new Object();
+            return trial;
+        }
+
+        synchronized void onSuccess(Object permit) {
+            if (permit == trial) {
+                trial = null;
+                open = false;
+            }
+            if (!open) {
+                consecutiveFailures = 0;
+            }
+        }
+
+        synchronized void onFailure(Object permit) {
+            if (permit == trial) {
+                trial = null;
+                open = true;
+                openedAt = System.nanoTime();
+            } else if (!open && ++consecutiveFailures >= failureThreshold) {
+                open = true;
+                openedAt = System.nanoTime();
+            }
+        }
+
+        /**
+         * Give back a permit that ended without a result (bulkhead full, cancelled, caller deadline)
+         */
+        synchronized void release(Object permit) {
+            if (permit == trial) {
+                trial = null;
+            }
+        }
+
+        synchronized boolean isOpen() {
+            return open;
+        }
+    }
+
+    // ====================== CACHE ======================
+
+    private static final class CacheKey {
+
+        final Long propertyId;
+        final Long userId;
+        final int limit;
+
+        CacheKey(Long propertyId, Long userId, int limit) {
+            this.propertyId = propertyId;
+            this.userId = userId;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CacheKey other)) {
+                return false;
+            }
+            return limit == other.limit
+                    && propertyId.equals(other.propertyId)
+                    && Objects.equals(userId, other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(propertyId, userId, limit);
+        }
+    }
+
+    /**
+     * Insertion-ordered map of key -> (IDs, written at); oldest entries expire first
+     */
+    private static final class TtlCache {
+
+        private static final class Entry {
+            final List<Long> propertyIds;
+            final long createdAt;
+
+            Entry(List<Long> propertyIds, long createdAt) {
+                this.propertyIds = propertyIds;
+                this.createdAt = createdAt;
+            }
+        }
+
+        private final Map<CacheKey, Entry> entries = new LinkedHashMap<>();
+        private final int maxEntries;
+        private final long ttlMillis;
+
+        TtlCache(int maxEntries, long ttlMillis) {
+            this.maxEntries = Math.max(1, maxEntries);
+            this.ttlMillis = ttlMillis;
+        }
+
+        synchronized List<Long> get(CacheKey key) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.currentTimeMillis() - entry.createdAt >= ttlMillis) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.propertyIds;
+        }
+
+        synchronized void put(CacheKey key, List<Long> propertyIds) {
+            long now = System.currentTimeMillis();
+            // List.copyOf rejects null IDs, so a malformed answer fails before it counts as a success;
+            // re-inserting moves the entry to the young end
+            entries.remove(key);
+            entries.put(key, new Entry(List.copyOf(propertyIds), now));
+            expire(now);
+        }
+
+        private void expire(long now) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry oldest = iterator.next();
+                if (entries.size() <= maxEntries && now - oldest.createdAt < ttlMillis) {
+                    break;
+                }
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.realestate.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the .NET recommendation service, for exercising RecommendationService by hand or under load
+ * Answers GET /api/recommendations?propertyId=&userId=&limit= with a JSON array of IDs (stable per property)
+ * after a configurable delay, and fails a configurable share of calls with 503.
+ * The X-Request-Timeout-Ms it received is echoed back as X-Received-Timeout-Ms.
+ *
+ *   java -cp benchmarks/target/benchmarks.jar com.realestate.benchmark.RecommendationStubServer \
+ *        --port 5000 --latency-ms 20 --jitter-ms 10 --failure-rate 0.0 --max-id 10000
+ */
+public class RecommendationStubServer {
+
+    private static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        int port = Integer.parseInt(options.getOrDefault("port", "5000"));
+        long latencyMs = Long.parseLong(options.getOrDefault("latency-ms", "20"));
+        long jitterMs = Long.parseLong(options.getOrDefault("jitter-ms", "0"));
+        double failureRate = Double.parseDouble(options.getOrDefault("failure-rate", "0"));
+        long maxId = Long.parseLong(options.getOrDefault("max-id", "10000"));
+
+        AtomicLong served = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/recommendations", exchange -> {
+            try {
+                Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+                String received = exchange.getRequestHeaders().getFirst(TIMEOUT_HEADER);
+                if (received != null) {
+                    exchange.getResponseHeaders().add("X-Received-Timeout-Ms", received);
+                }
+
+                sleep(latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0));
+                if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                    failed.incrementAndGet();
+                    exchange.sendResponseHeaders(503, -1);
+                    return;
+                }
+
+                long propertyId = Long.parseLong(query.getOrDefault("propertyId", "0"));
+                int limit = Integer.parseInt(query.getOrDefault("limit", "10"));
+                respond(exchange, recommendedIds(propertyId, limit, maxId));
+                served.incrementAndGet();
+            } catch (RuntimeException e) {
+                exchange.sendResponseHeaders(400, -1);
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+
+        System.out.printf("Recommendation stub on :%d (latency %d+%d ms, failure rate %.2f)%n",
+                port, latencyMs, jitterMs, failureRate);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(0);
+            System.out.printf("Served %d, failed %d%n", served.get(), failed.get());
+        }));
+    }
+
+    private static String recommendedIds(long propertyId, int limit, long maxId) {
+        SplittableRandom random = new SplittableRandom(propertyId);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < limit; i++) {
+            if (i > 0) json.append(',');
+            json.append(1 + random.nextLong(maxId));
+        }
+        return json.append(']').toString();
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq), pair.substring(eq + 1));
+            }
+        }
+        return params;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return options;
+    }
+}
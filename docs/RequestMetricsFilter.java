@@ -0,0 +1,96 @@
+package com.realestate.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records JDBC statements per request and logs slow requests with the SQL they issued
+ * - http.server.requests.jdbc.statements: statements per request, tagged by method and URI template,
+ *   so an N+1 regression shows up as a jump in the mean for that endpoint
+ * - http.server.requests.slow: requests over metrics.slow-request.threshold-ms
+ * Latency itself comes from Spring Boot's http.server.requests timer.
+ * Statements issued after an async request (Mono/Flux, StreamingResponseBody) leaves the
+ * request thread are not counted.
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger slowLog = LoggerFactory.getLogger("com.realestate.slow-requests");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${metrics.slow-request.threshold-ms:500}")
+    private long slowThresholdMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlRecorder.Recording recording = RequestSqlRecorder.start();
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            RequestSqlRecorder.stop();
+            report(request, response, recording, elapsedMs);
+        }
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response,
+                        RequestSqlRecorder.Recording recording, long elapsedMs) {
+        String uri = uriTemplate(request);
+        DistributionSummary.builder("http.server.requests.jdbc.statements")
+                .description("JDBC statements executed per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(recording.getStatements());
+
+        if (elapsedMs < slowThresholdMs) {
+            return;
+        }
+        Counter.builder("http.server.requests.slow")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+
+        StringBuilder message = new StringBuilder()
+                .append(request.getMethod()).append(' ').append(request.getRequestURI())
+                .append(" -> ").append(response.getStatus())
+                .append(" in ").append(elapsedMs).append(" ms, ")
+                .append(recording.getStatements()).append(" statements (")
+                .append(recording.getElapsedMs()).append(" ms in JDBC)");
+        for (String sql : recording.getCaptured()) {
+            message.append("\n  ").append(sql);
+        }
+        if (recording.getStatements() > RequestSqlRecorder.MAX_CAPTURED) {
+            message.append("\n  ... ").append(recording.getStatements() - RequestSqlRecorder.MAX_CAPTURED).append(" more");
+        }
+        slowLog.warn(message.toString());
+    }
+
+    /**
+     * Matched route pattern (e.g. /api/favorites/user/{userId}) to keep tag cardinality bounded
+     */
+    private static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
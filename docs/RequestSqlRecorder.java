@@ -0,0 +1,91 @@
+package com.realestate.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Per-request record of the JDBC statements issued, fed by SqlCaptureListener
+ * The recording lives in a ThreadLocal bound by RequestMetricsFilter; work forked onto other
+ * threads (ParallelLookups) carries it over with wrap(). Only the first MAX_CAPTURED statements
+ * keep their SQL text, so a runaway N+1 cannot grow the recording without bound.
+ */
+public final class RequestSqlRecorder {
+
+    static final int MAX_CAPTURED = 200;
+    private static final int MAX_SQL_LENGTH = 1000;
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private RequestSqlRecorder() {
+    }
+
+    public static final class Recording {
+
+        private int statements;
+        private long elapsedMs;
+        private final List<String> captured = new ArrayList<>();
+
+        synchronized void add(String sql, long elapsed) {
+            statements++;
+            elapsedMs += elapsed;
+            if (captured.size() < MAX_CAPTURED) {
+                String text = sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql;
+                captured.add(elapsed + " ms | " + text);
+            }
+        }
+
+        public synchronized int getStatements() {
+            return statements;
+        }
+
+        public synchronized long getElapsedMs() {
+            return elapsedMs;
+        }
+
+        public synchronized List<String> getCaptured() {
+            return Collections.unmodifiableList(new ArrayList<>(captured));
+        }
+    }
+
+    static Recording start() {
+        Recording recording = new Recording();
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static void record(String sql, long elapsedMs) {
+        Recording recording = CURRENT.get();
+        if (recording != null) {
+            recording.add(sql, elapsedMs);
+        }
+    }
+
+    /**
+     * Run the task with the caller's recording bound, so statements on another thread count toward this request
+     */
+    public static <T> Supplier<T> wrap(Supplier<T> task) {
+        Recording recording = CURRENT.get();
+        if (recording == null) {
+            return task;
+        }
+        return () -> {
+            Recording previous = CURRENT.get();
+            CURRENT.set(recording);
+            try {
+                return task.get();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+}
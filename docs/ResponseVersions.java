@@ -0,0 +1,165 @@
+package com.realestate.service;
+
+import com.realestate.dto.FavoritesVersion;
+import com.realestate.dto.PropertyVersionRow;
+import com.realestate.repository.FavoriteRepository;
+import com.realestate.repository.PropertyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Weak ETags for the read endpoints, computed from version columns instead of the response
+ * Each fingerprint covers everything the response is built from:
+ * - property detail: one projection row (updatedAt, owner's updatedAt, favoriteCount), the pending
+ *   count delta and isFavorited; the favorite cache is only peeked, never loaded
+ * - available page: (id, updatedAt, owner's updatedAt, favoriteCount) of the same page rows,
+ *   pending count deltas, total
+ * - favorites list: one aggregate row over the user's favorites, their properties and owners
+ * Images are not read here. An image change moves the fingerprints only if the image write path
+ * calls PropertyService.evictPropertyResponse, which touches the parent's updatedAt; the image
+ * service lives outside this module and must make that call. Bump http.etag.version when a
+ * response format changes.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ResponseVersions {
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private FavoriteRepository favoriteRepository;
+
+    @Autowired
+    private FavoriteCache favoriteCache;
+
+    @Autowired
+    private FavoriteCountAggregator favoriteCountAggregator;
+
+    @Value("${http.etag.version:1}")
+    private long formatVersion;
+
+    /**
+     * ETag of getPropertyResponseById(id, userId), or null if the property doesn't exist
+     * (let the endpoint answer the 404 as usual)
+     */
+    public String propertyDetailETag(Long id, Long userId) {
+        PropertyVersionRow row = propertyRepository.findVersionRowById(id).orElse(null);
+        if (row == null) {
+            return null;
+        }
+        return new Fingerprint(formatVersion)
+                .add(id)
+                .add(row.getUpdatedAt())
+                .add(row.getOwnerUpdatedAt())
+                .add(favoriteCount(row))
+                .add(userId != null && isFavorited(userId, id) ? 1 : 0)
+                .toETag("p");
+    }
+
+    /**
+     * ETag of getAvailablePropertiesPaged / getAvailablePropertiesPageView for the same arguments
+     */
+    public String availablePageETag(int page, int size, String sortBy, String direction) {
+        Sort sort = direction.equalsIgnoreCase("ASC")
+                ? Sort.by(sortBy).ascending()
+                : Sort.by(sortBy).descending();
+        Page<PropertyVersionRow> rows = propertyRepository.findVersionRowsByAvailableTrue(PageRequest.of(page, size, sort));
+
+        Fingerprint fingerprint = new Fingerprint(formatVersion).add(rows.getTotalElements());
+        for (PropertyVersionRow row : rows) {
+            fingerprint.add(row.getId())
+                    .add(row.getUpdatedAt())
+                    .add(row.getOwnerUpdatedAt())
+                    .add(favoriteCount(row));
+        }
+        return fingerprint.toETag("a");
+    }
+
+    /**
+     * ETag of the user's favorites, shared by the list and paged endpoints (the page and sort
+     * are part of the URL, which is what caches key on)
+     */
+    public String userFavoritesETag(Long userId) {
+        FavoritesVersion version = favoriteRepository.findVersionByUserId(userId);
+        return new Fingerprint(formatVersion)
+                .add(userId)
+                .add(version.getCount())
+                .add(version.getIdSum())
+                .add(version.getLastFavoriteUpdate())
+                .add(version.getLastPropertyUpdate())
+                .add(version.getLastOwnerUpdate())
+                .toETag("f");
+    }
+
+    /**
+     * Same value FavoriteCache serves: the stored column plus the not-yet-flushed delta
+     */
+    private long favoriteCount(PropertyVersionRow row) {
+        Long cached = favoriteCache.peekFavoriteCount(row.getId());
+        if (cached != null) {
+            return cached;
+        }
+        long stored = row.getFavoriteCount() != null ? row.getFavoriteCount() : 0L;
+        return Math.max(0, stored + favoriteCountAggregator.pendingDelta(row.getId()));
+    }
+
+    /**
+     * Cached membership when present; otherwise one unique-key lookup rather than loading the user's favorites
+     */
+    private boolean isFavorited(Long userId, Long propertyId) {
+        Boolean cached = favoriteCache.peekFavorited(userId, propertyId);
+        return cached != null ? cached : favoriteRepository.existsByUserIdAndPropertyId(userId, propertyId);
+    }
+
+    // ====================== HASHING ======================
+
+    /**
+     * Order-sensitive 64-bit hash of a sequence of longs (murmur3 finalizer per step)
+     */
+    private static final class Fingerprint {
+
+        private long hash;
+
+        Fingerprint(long seed) {
+            this.hash = mix(seed ^ 0x9E3779B97F4A7C15L);
+        }
+
+        Fingerprint add(long value) {
+            hash = mix(hash * 31 + value);
+            return this;
+        }
+
+        Fingerprint add(Long value) {
+            return add(value != null ? value : Long.MIN_VALUE);
+        }
+
+        Fingerprint add(LocalDateTime time) {
+            if (time == null) {
+                return add(Long.MIN_VALUE);
+            }
+            return add(time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano());
+        }
+
+        String toETag(String kind) {
+            return "W/\"" + kind + "-" + Long.toHexString(hash) + "\"";
+        }
+
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
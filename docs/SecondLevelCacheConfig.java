@@ -0,0 +1,143 @@
+package com.realestate.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache on an in-process Caffeine JCache provider
+ * Regions (one per cached entity/collection) are created here with their own size and TTL;
+ * hibernate.javax.cache.missing_cache_strategy=fail makes an unconfigured region a startup error.
+ * Writes made outside Hibernate (JdbcTemplate) evict through SecondLevelCacheEvictor.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String PROPERTY_REGION = "com.realestate.model.Property";
+    public static final String PROPERTY_IMAGES_REGION = "com.realestate.model.Property.images";
+    public static final String PROPERTY_IMAGE_REGION = "com.realestate.model.PropertyImage";
+    public static final String USER_REGION = "com.realestate.model.User";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private static final List<String> REGIONS = List.of(PROPERTY_REGION, PROPERTY_IMAGES_REGION,
+            PROPERTY_IMAGE_REGION, USER_REGION, QUERY_RESULTS_REGION, UPDATE_TIMESTAMPS_REGION);
+
+    @Value("${cache.l2.property.max-size:10000}")
+    private long propertyMaxSize;
+
+    @Value("${cache.l2.property.ttl-seconds:600}")
+    private long propertyTtlSeconds;
+
+    @Value("${cache.l2.property-images.max-size:10000}")
+    private long propertyImagesMaxSize;
+
+    @Value("${cache.l2.property-image.max-size:50000}")
+    private long propertyImageMaxSize;
+
+    @Value("${cache.l2.images.ttl-seconds:1800}")
+    private long imagesTtlSeconds;
+
+    @Value("${cache.l2.user.max-size:5000}")
+    private long userMaxSize;
+
+    @Value("${cache.l2.user.ttl-seconds:1800}")
+    private long userTtlSeconds;
+
+    @Value("${cache.l2.query.max-size:5000}")
+    private long queryMaxSize;
+
+    @Value("${cache.l2.query.ttl-seconds:300}")
+    private long queryTtlSeconds;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        createRegion(cacheManager, PROPERTY_REGION, propertyMaxSize, propertyTtlSeconds);
+        createRegion(cacheManager, PROPERTY_IMAGES_REGION, propertyImagesMaxSize, imagesTtlSeconds);
+        createRegion(cacheManager, PROPERTY_IMAGE_REGION, propertyImageMaxSize, imagesTtlSeconds);
+        createRegion(cacheManager, USER_REGION, userMaxSize, userTtlSeconds);
+        createRegion(cacheManager, QUERY_RESULTS_REGION, queryMaxSize, queryTtlSeconds);
+        // Timestamps must outlive every cached query result, so this region is unbounded and never expires
+        createRegion(cacheManager, UPDATE_TIMESTAMPS_REGION, 0, 0);
+        return cacheManager;
+    }
+
+    /**
+     * Hand the cache manager above to Hibernate instead of letting it create its own
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Per-region hits, misses and hit ratio, tagged by region
+     * Needs hibernate.generate_statistics=true; the counters are cumulative since startup
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : REGIONS) {
+                FunctionCounter.builder("hibernate.l2.hits", statistics, s -> hits(s, region))
+                        .tag("region", region)
+                        .register(registry);
+                FunctionCounter.builder("hibernate.l2.misses", statistics, s -> misses(s, region))
+                        .tag("region", region)
+                        .register(registry);
+                Gauge.builder("hibernate.l2.hit.ratio", statistics, s -> hitRatio(s, region))
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static double hits(Statistics statistics, String region) {
+        CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+        return stats != null ? stats.getHitCount() : 0;
+    }
+
+    private static double misses(Statistics statistics, String region) {
+        CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+        return stats != null ? stats.getMissCount() : 0;
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        double hits = hits(statistics, region);
+        double requests = hits + misses(statistics, region);
+        return requests == 0 ? Double.NaN : hits / requests;
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region, long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttlSeconds > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,46 @@
+package com.realestate.service;
+
+import com.realestate.config.SecondLevelCacheConfig;
+import com.realestate.model.Property;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * Second-level cache eviction for writes Hibernate cannot see
+ * Entity updates through the EntityManager keep the cache in sync on their own; JdbcTemplate
+ * updates (favorite_count write-behind, reconciliation) and cross-service changes do not.
+ * Evictions run after the surrounding transaction commits, or immediately without one.
+ */
+@Component
+public class SecondLevelCacheEvictor {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void evictProperties(Collection<Long> propertyIds) {
+        AfterCommit.run(() -> {
+            Cache cache = cache();
+            propertyIds.forEach(id -> cache.evictEntityData(Property.class, id));
+        });
+    }
+
+    public void evictAllProperties() {
+        AfterCommit.run(() -> cache().evictEntityData(Property.class));
+    }
+
+    /**
+     * Drop a property's cached image collection (after adding, removing or reordering images)
+     */
+    public void evictPropertyImages(Long propertyId) {
+        AfterCommit.run(() -> cache().evictCollectionData(SecondLevelCacheConfig.PROPERTY_IMAGES_REGION, propertyId));
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+}
@@ -0,0 +1,294 @@
+package com.realestate.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.realestate.RealEstateApplication;
+import com.realestate.dto.PropertySearchRequest;
+import com.realestate.model.Property;
+import com.realestate.model.PropertyType;
+import com.realestate.service.FavoriteService;
+import com.realestate.service.PropertyService;
+import com.realestate.service.ResponseVersions;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * JMH benchmarks for the service-layer hot paths
+ * Boots the application once per trial against an in-memory H2 database filled by
+ * BenchmarkDataGenerator, then measures:
+ * - toPropertyResponse (detail view)
+ * - getAvailablePropertiesPaged (buildPageResponse)
+ * - getUserFavoritesPaged / getUserFavoritesResponse (FavoriteRow projection)
+ * - searchProperties (structured filters and keyword)
+ * - a page of properties written as JSON, via PageResponse<PropertyResponse> and via PropertyPageView
+ * - the ResponseVersions ETags that let those endpoints answer 304 without building anything
+ * Setup also asserts that a page costs the same number of statements at 10 and 50 rows.
+ * Run main() to get throughput + gc profiler output and a JSON result file for comparing runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceHotPathBenchmark {
+
+    @Param({"10000"})
+    public int listings;
+
+    @Param({"5"})
+    public int imagesPerListing;
+
+    /**
+     * Two sizes so statements/op can be checked to stay flat as the favorites list grows
+     */
+    @Param({"50", "500"})
+    public int favoritesPerUser;
+
+    @Param({"20"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private PropertyService propertyService;
+    private FavoriteService favoriteService;
+    private ResponseVersions responseVersions;
+    private Statistics statistics;
+    private ObjectWriter jsonWriter;
+    private final OutputStream jsonSink = OutputStream.nullOutputStream();
+
+    private Long userId;
+    private Property detailProperty;
+    private PropertySearchRequest filterRequest;
+    private PropertySearchRequest keywordRequest;
+
+    /**
+     * JDBC statements issued, reported next to throughput (divide by ops for statements per op)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class QueryCounter {
+        public long statements;
+        public long ops;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(RealEstateApplication.class,
+                "--spring.profiles.active=benchmark",
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--spring.main.web-application-type=none",
+                "--logging.level.root=WARN");
+
+        propertyService = context.getBean(PropertyService.class);
+        favoriteService = context.getBean(FavoriteService.class);
+        responseVersions = context.getBean(ResponseVersions.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        // The application's ObjectMapper (same modules as the web layer); the sink must stay open between ops
+        jsonWriter = context.getBean(ObjectMapper.class).writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        BenchmarkDataGenerator generator = new BenchmarkDataGenerator(
+                context.getBean(EntityManager.class), context.getBean(TransactionTemplate.class));
+        List<Long> userIds = generator.generate(listings, imagesPerListing, 10, favoritesPerUser);
+        userId = userIds.get(0);
+
+        detailProperty = propertyService.getRecentProperties(1).get(0);
+
+        filterRequest = new PropertySearchRequest();
+        filterRequest.setCity("Pune");
+        filterRequest.setPropertyType(PropertyType.APARTMENT);
+        filterRequest.setMinPrice(BigDecimal.valueOf(5_000_000));
+        filterRequest.setMinBedrooms(2);
+        filterRequest.setSize(pageSize);
+
+        keywordRequest = new PropertySearchRequest();
+        keywordRequest.setKeyword("garden view");
+        keywordRequest.setSize(pageSize);
+
+        checkStreamedJsonMatches(context.getBean(ObjectMapper.class));
+        checkPageStatementsConstant();
+    }
+
+    /**
+     * buildPageResponse hydrates a page with a fixed set of grouped IN (...) queries, so its statement
+     * count must not depend on the page size. Both pages run once first, so second-level cache hits
+     * (owners, count query) are the same on both sides of the comparison.
+     */
+    private void checkPageStatementsConstant() {
+        assertSameStatements("getAvailablePropertiesPaged",
+                rows -> propertyService.getAvailablePropertiesPaged(0, rows, "createdAt", "DESC"));
+        // With a caller, so the favorited-set lookup is part of the page as well
+        assertSameStatements("searchProperties", rows -> {
+            PropertySearchRequest request = new PropertySearchRequest();
+            request.setSize(rows);
+            return propertyService.searchProperties(request, userId);
+        });
+    }
+
+    private void assertSameStatements(String operation, IntFunction<Object> page) {
+        page.apply(50);
+        page.apply(10);
+        long small = statementsFor(() -> page.apply(10));
+        long large = statementsFor(() -> page.apply(50));
+        if (small != large) {
+            throw new IllegalStateException(operation + " issued " + small + " statements for a 10-row page but "
+                    + large + " for a 50-row page; a row is being hydrated on its own");
+        }
+    }
+
+    private long statementsFor(Runnable operation) {
+        long before = statistics.getPrepareStatementCount();
+        operation.run();
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    /**
+     * The two JSON benchmarks only compare like with like if both paths produce the same document
+     */
+    private void checkStreamedJsonMatches(ObjectMapper objectMapper) {
+        try {
+            String dto = objectMapper.writeValueAsString(
+                    propertyService.getAvailablePropertiesPaged(0, pageSize, "createdAt", "DESC"));
+            String streamed = objectMapper.writeValueAsString(
+                    propertyService.getAvailablePropertiesPageView(0, pageSize, "createdAt", "DESC"));
+            if (!objectMapper.readTree(dto).equals(objectMapper.readTree(streamed))) {
+                throw new IllegalStateException("PropertyPageView JSON differs from PageResponse JSON:\n"
+                        + dto + "\n" + streamed);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void toPropertyResponse(QueryCounter counter, Blackhole bh) {
+        long before = statistics.getPrepareStatementCount();
+        bh.consume(propertyService.getPropertyResponseById(detailProperty.getId(), userId));
+        count(counter, before);
+    }
+
+    @Benchmark
+    public void availablePropertiesPage(QueryCounter counter, Blackhole bh) {
+        long before = statistics.getPrepareStatementCount();
+        bh.consume(propertyService.getAvailablePropertiesPaged(0, pageSize, "createdAt", "DESC"));
+        count(counter, before);
+    }
+
+    /**
+     * availablePropertiesPage serialized the usual way: DTO graph, then Jackson databind
+     */
+    @Benchmark
+    public void availablePageJsonDto(QueryCounter counter) throws IOException {
+        long before = statistics.getPrepareStatementCount();
+        jsonWriter.writeValue(jsonSink, propertyService.getAvailablePropertiesPaged(0, pageSize, "createdAt", "DESC"));
+        count(counter, before);
+    }
+
+    /**
+     * Same page and JSON through PropertyPageView / PropertyPageViewSerializer
+     */
+    @Benchmark
+    public void availablePageJsonStreamed(QueryCounter counter) throws IOException {
+        long before = statistics.getPrepareStatementCount();
+        jsonWriter.writeValue(jsonSink, propertyService.getAvailablePropertiesPageView(0, pageSize, "createdAt", "DESC"));
+        count(counter, before);
+    }
+
+    @Benchmark
+    public void userFavoritesPage(QueryCounter counter, Blackhole bh) {
+        long before = statistics.getPrepareStatementCount();
+        bh.consume(favoriteService.getUserFavoritesPaged(userId, 0, pageSize, "createdAt", "DESC"));
+        count(counter, before);
+    }
+
+    @Benchmark
+    public void userFavoritesList(QueryCounter counter, Blackhole bh) {
+        long before = statistics.getPrepareStatementCount();
+        bh.consume(favoriteService.getUserFavoritesResponse(userId));
+        count(counter, before);
+    }
+
+    /**
+     * What a 304 costs: the fingerprint alone, next to the full responses above
+     */
+    @Benchmark
+    public void detailETag(QueryCounter counter, Blackhole bh) {
+        long before = statistics.getPrepareStatementCount();
+        bh.consume(responseVersions.propertyDetailETag(detailProperty.getId(), userId));
+        count(counter, before);
+    }
+
+    @Benchmark
+    public void availablePageETag(QueryCounter counter, Blackhole bh) {
+        long before = statistics.getPrepareStatementCount();
+        bh.consume(responseVersions.availablePageETag(0, pageSize, "createdAt", "DESC"));
+        count(counter, before);
+    }
+
+    @Benchmark
+    public void userFavoritesETag(QueryCounter counter, Blackhole bh) {
+        long before = statistics.getPrepareStatementCount();
+        bh.consume(responseVersions.userFavoritesETag(userId));
+        count(counter, before);
+    }
+
+    @Benchmark
+    public void searchByFilters(QueryCounter counter, Blackhole bh) {
+        long before = statistics.getPrepareStatementCount();
+        bh.consume(propertyService.searchProperties(filterRequest, userId));
+        count(counter, before);
+    }
+
+    @Benchmark
+    public void searchByKeyword(QueryCounter counter, Blackhole bh) {
+        long before = statistics.getPrepareStatementCount();
+        bh.consume(propertyService.searchProperties(keywordRequest, userId));
+        count(counter, before);
+    }
+
+    private void count(QueryCounter counter, long before) {
+        counter.statements += statistics.getPrepareStatementCount() - before;
+        counter.ops++;
+    }
+
+    /**
+     * Run all benchmarks with the gc profiler and write results to jmh-result.json
+     * Pass a regex as the first argument to run a subset, e.g. "availablePropertiesPage"
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ServiceHotPathBenchmark.class.getSimpleName() + (args.length > 0 ? "." + args[0] : ""))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
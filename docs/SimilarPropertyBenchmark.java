@@ -0,0 +1,122 @@
+package com.realestate.benchmark;
+
+import com.realestate.model.ListingType;
+import com.realestate.model.Property;
+import com.realestate.model.PropertyType;
+import com.realestate.service.SimilarPropertyIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of SimilarPropertyIndex alone (no database, no Spring context)
+ * City sizes are skewed (the first city holds about a third of the inventory), so the
+ * largest (city, listing type) bucket is the one that sets the p99.
+ * - similarTo: top-limit neighbours of a random indexed listing
+ * - similarToSmallCity: a listing from the smallest city, whose bucket can't fill the limit,
+ *   so other cities of the same listing type are scanned as well
+ * - update: put of a changed listing, the write path of createProperty / updateProperty
+ * SampleTime mode, so the p99 can be checked against the 1 ms target directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SimilarPropertyBenchmark {
+
+    private static final String[] CITIES = {"Mumbai", "Pune", "Bengaluru", "Hyderabad", "Chennai",
+            "Delhi", "Kolkata", "Ahmedabad", "Jaipur", "Surat", "Lucknow", "Kochi"};
+
+    @Param({"500000"})
+    public int listings;
+
+    @Param({"10", "50"})
+    public int limit;
+
+    private SimilarPropertyIndex index;
+    private Property[] properties;
+    private long[] smallCityIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new SimilarPropertyIndex();
+        set(index, "enabled", true);
+        set(index, "spillRows", 50_000);
+
+        Random random = new Random(42);
+        properties = new Property[listings];
+        List<Long> smallCity = new ArrayList<>();
+        for (int i = 0; i < listings; i++) {
+            // Geometric city sizes (Mumbai ~1/3); Kochi gets a fixed 20 listings
+            int city = i % 25_000 == 0
+                    ? CITIES.length - 1
+                    : Math.min(CITIES.length - 2, (int) (-Math.log(1 - random.nextDouble()) * 2.5));
+            Property property = new Property();
+            property.setId((long) i + 1);
+            property.setCity(CITIES[city]);
+            property.setPrice(BigDecimal.valueOf(1_000_000L + (long) (Math.exp(random.nextGaussian()) * 8_000_000)));
+            property.setBedrooms(1 + random.nextInt(5));
+            property.setBathrooms(1 + random.nextInt(4));
+            property.setSquareFeet(400 + random.nextInt(3600));
+            property.setYearBuilt(1970 + random.nextInt(56));
+            property.setPropertyType(PropertyType.values()[random.nextInt(PropertyType.values().length)]);
+            property.setListingType(ListingType.values()[random.nextInt(ListingType.values().length)]);
+            property.setAvailable(random.nextInt(10) != 0);
+            properties[i] = property;
+            if (city == CITIES.length - 1 && property.getAvailable()) {
+                smallCity.add(property.getId());
+            }
+        }
+        index.rebuild(List.of(properties));
+        smallCityIds = smallCity.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Benchmark
+    public void similarTo(Blackhole bh) {
+        long id = 1 + ThreadLocalRandom.current().nextInt(listings);
+        bh.consume(index.similarTo(id, limit));
+    }
+
+    @Benchmark
+    public void similarToSmallCity(Blackhole bh) {
+        long id = smallCityIds[ThreadLocalRandom.current().nextInt(smallCityIds.length)];
+        bh.consume(index.similarTo(id, limit));
+    }
+
+    @Benchmark
+    public void update() {
+        Property property = properties[ThreadLocalRandom.current().nextInt(listings)];
+        property.setPrice(property.getPrice().add(BigDecimal.ONE));
+        index.put(property);
+    }
+
+    private static void set(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SimilarPropertyBenchmark.class.getSimpleName() + (args.length > 0 ? "." + args[0] : ""))
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-similar-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,426 @@
+package com.realestate.service;
+
+import com.realestate.model.ListingType;
+import com.realestate.model.Property;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory "similar listings" engine, tried before the remote recommendation service
+ * Each available property becomes a feature vector: standardized log(price), log(squareFeet), bedrooms,
+ * bathrooms and yearBuilt, plus its property type. Vectors are partitioned into buckets by
+ * (city, listing type) and stored column-major in primitive float arrays, so a query is a few
+ * element-wise passes over contiguous columns (which C2 compiles to SIMD) and a top-K selection.
+ * Listings from other cities of the same listing type are only scanned, with a distance penalty,
+ * when the property's own bucket can't fill K, and then only up to spill-rows of them.
+ * Standardization (mean/scale) is fixed at rebuild; put/remove keep the buckets current in between,
+ * and those arriving while a rebuild loads its snapshot are held and re-applied on top of it.
+ * While cold or disabled, similarTo returns null and callers go to the remote service.
+ */
+@Component
+public class SimilarPropertyIndex {
+
+    private static final int LOG_PRICE = 0;
+    private static final int LOG_SQUARE_FEET = 1;
+    private static final int BEDROOMS = 2;
+    private static final int BATHROOMS = 3;
+    private static final int YEAR_BUILT = 4;
+    private static final int FEATURES = 5;
+
+    // Weights per standardized unit; price and size dominate what buyers call "similar"
+    private static final float[] WEIGHTS = {2.0f, 1.0f, 1.0f, 0.5f, 0.5f};
+    private static final float PROPERTY_TYPE_WEIGHT = 1.5f;
+    private static final float OTHER_CITY_PENALTY = 4.0f;
+
+    // Rows per distance block: the block's distances stay in L1 across the per-feature passes
+    private static final int BLOCK = 1024;
+    private static final ThreadLocal<float[]> DISTANCES = ThreadLocal.withInitial(() -> new float[BLOCK]);
+
+    @Value("${recommendation.local.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Rows of other cities scanned when the own bucket is short; they only fill the gap, so a
+     * bounded sample keeps small-city queries as cheap as big-city ones
+     */
+    @Value("${recommendation.local.spill-rows:50000}")
+    private int spillRows;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean warm = false;
+
+    private final float[] mean = new float[FEATURES];
+    private final float[] scale = new float[FEATURES];
+
+    private final Map<String, Bucket> buckets = new HashMap<>();
+    private final Map<Long, Bucket> bucketById = new HashMap<>();
+
+    // Between beginRebuild() and rebuild(): latest put per ID, null for a remove (guarded by lock)
+    private boolean rebuilding = false;
+    private final Map<Long, Property> changedDuringRebuild = new HashMap<>();
+
+    public boolean isReady() {
+        return enabled && warm;
+    }
+
+    /**
+     * Start holding put/remove calls; call before reading the snapshot passed to rebuild()
+     */
+    public void beginRebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the held changes if the snapshot could not be loaded
+     */
+    public void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuild from a full property snapshot, then re-apply the changes held since beginRebuild();
+     * unavailable properties are skipped
+     */
+    public void rebuild(Collection<Property> properties) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            buckets.clear();
+            bucketById.clear();
+            fitStandardization(properties);
+            for (Property property : properties) {
+                putLocked(property);
+            }
+            changedDuringRebuild.forEach((id, property) -> {
+                removeLocked(id);
+                if (property != null) {
+                    putLocked(property);
+                }
+            });
+            changedDuringRebuild.clear();
+            rebuilding = false;
+            warm = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Insert or replace a single property (called after create/update commits); an unavailable one is removed
+     */
+    public void put(Property property) {
+        if (!enabled || property.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.put(property.getId(), property);
+            }
+            if (warm) {
+                removeLocked(property.getId());
+                putLocked(property);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop a property (called after delete commits)
+     */
+    public void remove(Long propertyId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                changedDuringRebuild.put(propertyId, null);
+            }
+            if (warm) {
+                removeLocked(propertyId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * IDs of the k listings nearest to the given one, nearest first (the listing itself excluded)
+     * @return null if the index is cold or the property isn't indexed (unknown or unavailable)
+     */
+    public long[] similarTo(Long propertyId, int k) {
+        if (!isReady() || k <= 0) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Bucket own = bucketById.get(propertyId);
+            if (own == null) {
+                return null;
+            }
+            int row = own.rowById.get(propertyId);
+            float[] query = new float[FEATURES];
+            for (int f = 0; f < FEATURES; f++) {
+                query[f] = own.features[f][row];
+            }
+            float queryType = own.types[row];
+
+            TopK top = new TopK(k);
+            scan(own, own.size, query, queryType, 0f, row, top);
+            if (top.size < k) {
+                int budget = Math.max(spillRows, k);
+                for (Bucket bucket : buckets.values()) {
+                    if (budget <= 0) {
+                        break;
+                    }
+                    if (bucket != own && bucket.listingType == own.listingType) {
+                        int rows = Math.min(bucket.size, budget);
+                        scan(bucket, rows, query, queryType, OTHER_CITY_PENALTY, -1, top);
+                        budget -= rows;
+                    }
+                }
+            }
+            return top.ids();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return bucketById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ====================== INTERNALS ======================
+
+    /**
+     * Weighted squared distance of the bucket's first rows to the query, offered to top in blocks
+     * Each pass is element-wise over contiguous float columns with no reduction or branch, which
+     * is the shape C2's superword pass vectorizes; the branchy top-K check runs once per row after.
+     */
+    private void scan(Bucket bucket, int size, float[] query, float queryType, float penalty, int skipRow,
+                      TopK top) {
+        float[] distances = DISTANCES.get();
+        float[][] columns = bucket.features;
+        float[] types = bucket.types;
+        long[] ids = bucket.ids;
+
+        for (int start = 0; start < size; start += BLOCK) {
+            int end = Math.min(start + BLOCK, size);
+            int n = end - start;
+
+            Arrays.fill(distances, 0, n, penalty);
+            for (int f = 0; f < FEATURES; f++) {
+                float[] column = columns[f];
+                float q = query[f];
+                float w = WEIGHTS[f];
+                for (int i = 0; i < n; i++) {
+                    float d = column[start + i] - q;
+                    distances[i] += w * d * d;
+                }
+            }
+            // Type ordinals are whole numbers, so min(1, |a - b|) is 0 for the same type and 1 otherwise
+            for (int i = 0; i < n; i++) {
+                distances[i] += PROPERTY_TYPE_WEIGHT * Math.min(1f, Math.abs(types[start + i] - queryType));
+            }
+
+            float worst = top.worst();
+            for (int i = 0; i < n; i++) {
+                if (distances[i] < worst && start + i != skipRow) {
+                    top.offer(distances[i], ids[start + i]);
+                    worst = top.worst();
+                }
+            }
+        }
+    }
+
+    private void putLocked(Property property) {
+        if (property.getId() == null || !Boolean.TRUE.equals(property.getAvailable())) {
+            return;
+        }
+        String key = bucketKey(property.getCity(), property.getListingType());
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(property.getListingType()));
+        float[] raw = rawFeatures(property);
+        float[] standardized = new float[FEATURES];
+        for (int f = 0; f < FEATURES; f++) {
+            // Missing values sit at the mean, so they neither attract nor repel
+            standardized[f] = Float.isNaN(raw[f]) ? 0f : (raw[f] - mean[f]) * scale[f];
+        }
+        float type = property.getPropertyType() != null ? property.getPropertyType().ordinal() : -1f;
+        bucket.add(property.getId(), standardized, type);
+        bucketById.put(property.getId(), bucket);
+    }
+
+    private void removeLocked(Long propertyId) {
+        Bucket bucket = bucketById.remove(propertyId);
+        if (bucket != null) {
+            bucket.remove(propertyId);
+        }
+    }
+
+    /**
+     * Mean and 1/stddev of each raw feature over the snapshot (missing values ignored)
+     */
+    private void fitStandardization(Collection<Property> properties) {
+        double[] sum = new double[FEATURES];
+        double[] sumSquares = new double[FEATURES];
+        long[] count = new long[FEATURES];
+        for (Property property : properties) {
+            if (!Boolean.TRUE.equals(property.getAvailable())) {
+                continue;
+            }
+            float[] raw = rawFeatures(property);
+            for (int f = 0; f < FEATURES; f++) {
+                if (!Float.isNaN(raw[f])) {
+                    sum[f] += raw[f];
+                    sumSquares[f] += (double) raw[f] * raw[f];
+                    count[f]++;
+                }
+            }
+        }
+        for (int f = 0; f < FEATURES; f++) {
+            double m = count[f] > 0 ? sum[f] / count[f] : 0;
+            double variance = count[f] > 0 ? sumSquares[f] / count[f] - m * m : 0;
+            mean[f] = (float) m;
+            scale[f] = variance > 1e-12 ? (float) (1 / Math.sqrt(variance)) : 1f;
+        }
+    }
+
+    private static float[] rawFeatures(Property property) {
+        float[] raw = new float[FEATURES];
+        raw[LOG_PRICE] = property.getPrice() != null && property.getPrice().signum() > 0
+                ? (float) Math.log(property.getPrice().doubleValue()) : Float.NaN;
+        raw[LOG_SQUARE_FEET] = positive(property.getSquareFeet())
+                ? (float) Math.log(property.getSquareFeet().doubleValue()) : Float.NaN;
+        raw[BEDROOMS] = valueOrNaN(property.getBedrooms());
+        raw[BATHROOMS] = valueOrNaN(property.getBathrooms());
+        raw[YEAR_BUILT] = valueOrNaN(property.getYearBuilt());
+        return raw;
+    }
+
+    private static boolean positive(Number value) {
+        return value != null && value.doubleValue() > 0;
+    }
+
+    private static float valueOrNaN(Number value) {
+        return value != null ? value.floatValue() : Float.NaN;
+    }
+
+    private static String bucketKey(String city, ListingType listingType) {
+        return (city != null ? city.trim().toLowerCase() : "") + "|" + listingType;
+    }
+
+    /**
+     * One (city, listing type) partition, column-major; removal swaps in the last row
+     */
+    private static final class Bucket {
+        private final ListingType listingType;
+        private long[] ids = new long[16];
+        private final float[][] features = new float[FEATURES][16];
+        private float[] types = new float[16];
+        private final Map<Long, Integer> rowById = new HashMap<>();
+        private int size;
+
+        Bucket(ListingType listingType) {
+            this.listingType = listingType;
+        }
+
+        void add(long id, float[] vector, float type) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                types = Arrays.copyOf(types, capacity);
+                for (int f = 0; f < FEATURES; f++) {
+                    features[f] = Arrays.copyOf(features[f], capacity);
+                }
+            }
+            ids[size] = id;
+            types[size] = type;
+            for (int f = 0; f < FEATURES; f++) {
+                features[f][size] = vector[f];
+            }
+            rowById.put(id, size);
+            size++;
+        }
+
+        void remove(long id) {
+            Integer row = rowById.remove(id);
+            if (row == null) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                types[row] = types[last];
+                for (int f = 0; f < FEATURES; f++) {
+                    features[f][row] = features[f][last];
+                }
+                rowById.put(ids[row], row);
+            }
+        }
+    }
+
+    /**
+     * The k smallest distances seen so far, kept sorted ascending (k is small, inserts are rare)
+     */
+    private static final class TopK {
+        private final float[] distances;
+        private final long[] ids;
+        private int size;
+
+        TopK(int k) {
+            distances = new float[k];
+            ids = new long[k];
+        }
+
+        float worst() {
+            return size < distances.length ? Float.POSITIVE_INFINITY : distances[size - 1];
+        }
+
+        void offer(float distance, long id) {
+            int i = size < distances.length ? size++ : size - 1;
+            while (i > 0 && distances[i - 1] > distance) {
+                distances[i] = distances[i - 1];
+                ids[i] = ids[i - 1];
+                i--;
+            }
+            distances[i] = distance;
+            ids[i] = id;
+        }
+
+        long[] ids() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
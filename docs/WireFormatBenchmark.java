@@ -0,0 +1,216 @@
+package com.realestate.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.realestate.config.WireFormatConfig;
+import com.realestate.dto.ApiResponse;
+import com.realestate.dto.FavoriteResponse;
+import com.realestate.dto.PageResponse;
+import com.realestate.dto.PropertyResponse;
+import com.realestate.model.ListingType;
+import com.realestate.model.PropertyType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload size and encoding CPU of the list responses in each wire format (no Spring context)
+ * - searchPage: ApiResponse<PageResponse<PropertyResponse>> with descriptions, owner and image URLs
+ * - favorites: ApiResponse<List<FavoriteResponse>>
+ * encode writes the response as the converter would; encodeGzip adds gzip at the default level,
+ * which is what server.compression applies. The bytes / ops aux counter is the payload size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final String[] CITIES = {"Pune", "Mumbai", "Bengaluru", "Hyderabad", "Chennai"};
+    private static final String[] STATES = {"Maharashtra", "Maharashtra", "Karnataka", "Telangana", "Tamil Nadu"};
+    private static final String[] WORDS = {"spacious", "sunny", "garden", "view", "modular", "kitchen",
+            "balcony", "parking", "gated", "community", "metro", "school", "quiet", "renovated", "corner"};
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"searchPage", "favorites"})
+    public String payload;
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private Object response;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+
+    /**
+     * Encoded bytes, reported next to time (divide by ops for bytes per response)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireCounter {
+        public long bytes;
+        public long ops;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Boot's defaults for the JSON mapper: ISO-8601 dates instead of timestamps
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer = switch (format) {
+            case "json" -> builder.build().writer();
+            case "cbor" -> WireFormatConfig.cborMapper(builder).writer();
+            case "smile" -> WireFormatConfig.smileMapper(builder).writer();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+
+        Random random = new Random(42);
+        response = payload.equals("searchPage")
+                ? ApiResponse.success(searchPage(random), "Search completed")
+                : ApiResponse.success(favorites(random), "Favorites retrieved successfully");
+    }
+
+    @Benchmark
+    public void encode(WireCounter counter) throws IOException {
+        buffer.reset();
+        writer.writeValue(buffer, response);
+        counter.bytes += buffer.size();
+        counter.ops++;
+    }
+
+    @Benchmark
+    public void encodeGzip(WireCounter counter) throws IOException {
+        buffer.reset();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer, 8192)) {
+            writer.writeValue(gzip, response);
+        }
+        counter.bytes += buffer.size();
+        counter.ops++;
+    }
+
+    private PageResponse<PropertyResponse> searchPage(Random random) {
+        List<PropertyResponse> content = new ArrayList<>(pageSize);
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        for (int i = 0; i < pageSize; i++) {
+            int city = random.nextInt(CITIES.length);
+            long id = 10_000L + i;
+            List<String> imageUrls = new ArrayList<>();
+            for (int image = 0; image < 5; image++) {
+                imageUrls.add("https://real-estate-images.s3.ap-south-1.amazonaws.com/properties/" + id + "/"
+                        + Long.toHexString(random.nextLong()) + ".jpg");
+            }
+            content.add(PropertyResponse.builder()
+                    .id(id)
+                    .title(sentence(random, 6))
+                    .description(sentence(random, 90))
+                    .price(BigDecimal.valueOf(1_000_000L + random.nextInt(50_000_000)))
+                    .address((100 + random.nextInt(900)) + " " + sentence(random, 2) + " Road")
+                    .city(CITIES[city])
+                    .state(STATES[city])
+                    .zipCode(String.valueOf(400_000 + random.nextInt(99_999)))
+                    .propertyType(PropertyType.values()[random.nextInt(PropertyType.values().length)])
+                    .listingType(ListingType.values()[random.nextInt(ListingType.values().length)])
+                    .bedrooms(1 + random.nextInt(5))
+                    .bathrooms(1 + random.nextInt(4))
+                    .squareFeet(400 + random.nextInt(3600))
+                    .yearBuilt(1980 + random.nextInt(46))
+                    .latitude(18.5 + random.nextDouble())
+                    .longitude(73.8 + random.nextDouble())
+                    .available(true)
+                    .createdAt(now.minusMinutes(random.nextInt(500_000)))
+                    .updatedAt(now.minusMinutes(random.nextInt(1_000)))
+                    .owner(PropertyResponse.OwnerSummary.builder()
+                            .id((long) random.nextInt(50))
+                            .fullName("Agent " + random.nextInt(50))
+                            .email("agent" + random.nextInt(50) + "@example.com")
+                            .phone("+91 98" + (10_000_000 + random.nextInt(89_999_999)))
+                            .company("Realty Partners")
+                            .build())
+                    .imageUrls(imageUrls)
+                    .favoriteCount((long) random.nextInt(200))
+                    .isFavorited(random.nextBoolean())
+                    .build());
+        }
+        return PageResponse.<PropertyResponse>builder()
+                .content(content)
+                .pageNumber(0)
+                .pageSize(pageSize)
+                .totalElements(5_000L)
+                .totalPages((5_000 + pageSize - 1) / pageSize)
+                .first(true)
+                .last(false)
+                .hasNext(true)
+                .hasPrevious(false)
+                .build();
+    }
+
+    private List<FavoriteResponse> favorites(Random random) {
+        List<FavoriteResponse> favorites = new ArrayList<>(pageSize);
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        for (int i = 0; i < pageSize; i++) {
+            int city = random.nextInt(CITIES.length);
+            long propertyId = 10_000L + random.nextInt(100_000);
+            favorites.add(FavoriteResponse.builder()
+                    .id(1_000L + i)
+                    .userId(7L)
+                    .propertyId(propertyId)
+                    .notes(random.nextInt(3) == 0 ? sentence(random, 8) : null)
+                    .createdAt(now.minusMinutes(random.nextInt(500_000)))
+                    .property(FavoriteResponse.PropertySummary.builder()
+                            .id(propertyId)
+                            .title(sentence(random, 6))
+                            .address((100 + random.nextInt(900)) + " " + sentence(random, 2) + " Road")
+                            .city(CITIES[city])
+                            .state(STATES[city])
+                            .price(BigDecimal.valueOf(1_000_000L + random.nextInt(50_000_000)))
+                            .imageUrl("https://real-estate-images.s3.ap-south-1.amazonaws.com/properties/"
+                                    + propertyId + "/" + Long.toHexString(random.nextLong()) + ".jpg")
+                            .bedrooms(1 + random.nextInt(5))
+                            .bathrooms(1 + random.nextInt(4))
+                            .squareFeet(400 + random.nextInt(3600))
+                            .listingType(ListingType.values()[random.nextInt(ListingType.values().length)])
+                            .propertyType(PropertyType.values()[random.nextInt(PropertyType.values().length)])
+                            .build())
+                    .build());
+        }
+        return favorites;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(WireFormatBenchmark.class.getSimpleName() + (args.length > 0 ? "." + args[0] : ""))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-wire-format-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
-import { propertyService } from '../services/api';
+import { favoriteService, propertyService } from '../services/api';
+import { useAuth } from '../context/AuthContext';
 import PropertyCard from './PropertyCard';
 import './AdvancedSearch.css';
 
@@ -7,6 +8,8 @@ const AdvancedSearch = () => {
     const [properties, setProperties] = useState([]);
     const [loading, setLoading] = useState(false);
     const [error, setError] = useState(null);
+    const [favoriteStatuses, setFavoriteStatuses] = useState({});
+    const { user, isAuthenticated } = useAuth();
     const [page, setPage] = useState(0);
     const [totalPages, setTotalPages] = useState(0);
     const [totalElements, setTotalElements] = useState(0);
@@ -60,6 +63,8 @@ const AdvancedSearch = () => {
             const response = await propertyService.searchProperties(params);
             const data = response.data || {};
             // Handle both paginated response and direct array
+            const list = Array.isArray(data) ? data : (data.content || []);
+            await fetchFavoriteStatuses(list);
             if (Array.isArray(data)) {
                 setProperties(data);
                 setTotalPages(1);
@@ -79,6 +84,20 @@ const AdvancedSearch = () => {
         }
     };
 
+    // One batch call for the whole result page instead of one check per card
+    const fetchFavoriteStatuses = async (list) => {
+        if (!isAuthenticated || !user?.id || list.length === 0) {
+            return;
+        }
+        try {
+            const statuses = await favoriteService.getFavoriteStatusMap(user.id, list.map(p => p.id));
+            setFavoriteStatuses(statuses);
+        } catch (err) {
+            // Cards fall back to checking their own status
+            console.error('Error checking favorite statuses:', err);
+        }
+    };
+
     const handleSubmit = (e) => {
         e.preventDefault();
         setPage(0);
@@ -372,7 +391,7 @@ const AdvancedSearch = () => {
                     <>
                         <div className="properties-grid">
                             {properties.map((property) => (
-                                <PropertyCard key={property.id} property={property} />
+                                <PropertyCard key={property.id} property={property} favorited={favoriteStatuses[property.id]} />
                             ))}
                         </div>
 
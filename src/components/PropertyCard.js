@@ -4,7 +4,7 @@ import { favoriteService, propertyImageService, propertyService } from '../servi
 import { useAuth } from '../context/AuthContext';
 import './PropertyCard.css';
 
-const PropertyCard = ({ property, userId = null, showFavoriteButton = true, showActions = false, onDelete }) => {
+const PropertyCard = ({ property, userId = null, favorited, showFavoriteButton = true, showActions = false, onDelete }) => {
     const { user } = useAuth();
     const navigate = useNavigate();
     const finalUserId = userId || user?.id;
@@ -18,7 +18,10 @@ const PropertyCard = ({ property, userId = null, showFavoriteButton = true, show
         if (property?.id) {
             fetchPropertyImages();
             // Check if property is favorited only if user is logged in
-            if (finalUserId && finalUserId > 0) {
+            if (typeof favorited === 'boolean') {
+                // Status already resolved by the parent in one batch call
+                setIsFavorite(favorited);
+            } else if (finalUserId && finalUserId > 0) {
                 checkFavoriteStatus();
             } else {
                 // Not authenticated - default to NOT favorite
@@ -26,7 +29,7 @@ const PropertyCard = ({ property, userId = null, showFavoriteButton = true, show
                 setIsFavorite(false);
             }
         }
-    }, [property?.id, finalUserId]);
+    }, [property?.id, finalUserId, favorited]);
 
     const checkFavoriteStatus = async () => {
         try {
@@ -1,5 +1,5 @@
 import React, {useEffect, useState} from 'react';
-import {propertyService} from '../services/api';
+import {favoriteService, propertyService} from '../services/api';
 import {useAuth} from '../context/AuthContext';
 import PropertyCard from './PropertyCard';
 import ConnectionError from './ConnectionError';
@@ -10,6 +10,7 @@ const PropertyList = () => {
     const [properties, setProperties] = useState([]);
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
+    const [favoriteStatuses, setFavoriteStatuses] = useState({});
     const [filters, setFilters] = useState({
         city: '',
         propertyType: '',
@@ -32,7 +33,9 @@ const PropertyList = () => {
             // Backend returns ApiResponse: { success: true, data: [...] }
             const apiResponse = response.data;
             const data = apiResponse.data || apiResponse;
-            setProperties(Array.isArray(data) ? data : (data.content || []));
+            const list = Array.isArray(data) ? data : (data.content || []);
+            await fetchFavoriteStatuses(list);
+            setProperties(list);
             setError(null);
         } catch (err) {
             setError(err);
@@ -42,6 +45,20 @@ const PropertyList = () => {
         }
     };
 
+    // One batch call for the whole grid instead of one check per card
+    const fetchFavoriteStatuses = async (list) => {
+        if (!isAuthenticated || !user?.id || list.length === 0) {
+            return;
+        }
+        try {
+            const statuses = await favoriteService.getFavoriteStatusMap(user.id, list.map(p => p.id));
+            setFavoriteStatuses(statuses);
+        } catch (err) {
+            // Cards fall back to checking their own status
+            console.error('Error checking favorite statuses:', err);
+        }
+    };
+
     const handleFilterChange = (e) => {
         setFilters({
             ...filters,
@@ -149,6 +166,7 @@ const PropertyList = () => {
                         <PropertyCard
                             key={property.id}
                             property={property}
+                            favorited={favoriteStatuses[property.id]}
                             showActions={true}
                             onDelete={handlePropertyDeleted}
                         />
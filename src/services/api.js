@@ -231,8 +231,14 @@ export const favoriteService = {
     getUserFavorites: (userId, page = 0, size = 10) =>
         api.get(`/favorites/user/${userId}?page=${page}&size=${size}`),
 
-    addFavorite: (userId, propertyId, notes = '') =>
-        api.post(`/favorites?userId=${userId}&propertyId=${propertyId}&notes=${encodeURIComponent(notes)}`),
+    // Cursor (keyset) paging - pass back nextCursor from the previous page, null for the first
+    getUserFavoritesCursor: (userId, cursor = null, size = 10, includeTotal = false) =>
+        api.get(`/favorites/user/${userId}/cursor`, { params: cursor ? { cursor, size, includeTotal } : { size, includeTotal } }),
+
+    // Pass the same idempotencyKey when retrying so the backend returns the original result
+    addFavorite: (userId, propertyId, notes = '', idempotencyKey) =>
+        api.post(`/favorites?userId=${userId}&propertyId=${propertyId}&notes=${encodeURIComponent(notes)}`, null,
+            idempotencyKey ? { headers: { 'Idempotency-Key': idempotencyKey } } : {}),
 
     removeFavorite: (userId, propertyId) =>
         api.delete(`/favorites?userId=${userId}&propertyId=${propertyId}`),
@@ -240,14 +246,44 @@ export const favoriteService = {
     updateFavoriteNotes: (id, notes) =>
         api.put(`/favorites/${id}/notes?notes=${encodeURIComponent(notes)}`),
 
-    toggleFavorite: (userId, propertyId) =>
-        api.post(`/favorites/toggle?userId=${userId}&propertyId=${propertyId}`),
+    toggleFavorite: (userId, propertyId, idempotencyKey) =>
+        api.post(`/favorites/toggle?userId=${userId}&propertyId=${propertyId}`, null,
+            idempotencyKey ? { headers: { 'Idempotency-Key': idempotencyKey } } : {}),
 
     isFavorite: (userId, propertyId) =>
         api.get(`/favorites/check?userId=${userId}&propertyId=${propertyId}`),
 
     getFavoriteCount: (propertyId) =>
         api.get(`/favorites/count/${propertyId}`),
+
+    // Batch endpoints - one user, up to 100 property ids, results reported per id
+    checkFavoritesBatch: (userId, propertyIds) =>
+        api.post('/favorites/batch/check', { userId, propertyIds }),
+
+    addFavoritesBatch: (userId, propertyIds) =>
+        api.post('/favorites/batch/add', { userId, propertyIds }),
+
+    removeFavoritesBatch: (userId, propertyIds) =>
+        api.post('/favorites/batch/remove', { userId, propertyIds }),
+
+    toggleFavoritesBatch: (userId, propertyIds) =>
+        api.post('/favorites/batch/toggle', { userId, propertyIds }),
+
+    // Favorite status for a whole grid: { [propertyId]: true/false }, in chunks of 100
+    getFavoriteStatusMap: async (userId, propertyIds) => {
+        const statuses = {};
+        for (let i = 0; i < propertyIds.length; i += 100) {
+            const response = await api.post('/favorites/batch/check', {
+                userId,
+                propertyIds: propertyIds.slice(i, i + 100),
+            });
+            const results = response.data?.data?.results || [];
+            results.forEach((result) => {
+                statuses[result.propertyId] = result.isFavorited === true;
+            });
+        }
+        return statuses;
+    },
 };
 
 // ========== SCHEDULE VIEWING SERVICES ==========